@@ -0,0 +1,85 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end dispatch through {@code BeerController} on a mock servlet stack: handler mapping, argument
+ * resolution, validation, the service and repository, and JSON rendering. No socket or container is involved,
+ * so the numbers isolate the framework and application work per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BeerControllerDispatchBenchmark {
+
+    AnnotationConfigApplicationContext context;
+    MockMvc mockMvc;
+    RequestBuilder getBeer;
+    RequestBuilder postBeer;
+    RequestBuilder postForm;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        mockMvc = BenchmarkContext.mockMvc(context);
+        BeerDto saved = context.getBean(BeerService.class).saveNewBeer(BeerDto.builder()
+                .beerName("Galaxy Cat")
+                .beerStyle("IPA")
+                .upc(337010000L)
+                .build());
+        getBeer = MockMvcRequestBuilders.get("/api/v1/beer/" + saved.getId())
+                .accept(MediaType.APPLICATION_JSON);
+        postBeer = MockMvcRequestBuilders.post("/api/v1/beer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"beerName\":\"Galaxy Cat\",\"beerStyle\":\"IPA\",\"upc\":337010000}");
+        postForm = MockMvcRequestBuilders.post("/api/v1/beer/form")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("beerName", "Galaxy Cat")
+                .param("beerStyle", "IPA")
+                .param("upc", "337010000");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getBeer() throws Exception {
+        return mockMvc.perform(getBeer).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse postBeer() throws Exception {
+        return mockMvc.perform(postBeer).andReturn().getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse postForm() throws Exception {
+        return mockMvc.perform(postForm).andReturn().getResponse();
+    }
+}
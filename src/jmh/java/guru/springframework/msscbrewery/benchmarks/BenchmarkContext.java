@@ -0,0 +1,85 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import guru.springframework.msscbrewery.metrics.ErrorMetrics;
+import guru.springframework.msscbrewery.repositories.InMemoryBeerRepository;
+import guru.springframework.msscbrewery.services.BeerServiceImpl;
+import guru.springframework.msscbrewery.services.batch.BeerLookupBatcher;
+import guru.springframework.msscbrewery.web.controller.BatchIngester;
+import guru.springframework.msscbrewery.web.controller.BeerController;
+import guru.springframework.msscbrewery.web.controller.CatalogExporter;
+import guru.springframework.msscbrewery.web.controller.LookupWriter;
+import guru.springframework.msscbrewery.web.controller.MvcExceptionHandler;
+import guru.springframework.msscbrewery.web.errors.ValidationErrorWriter;
+import guru.springframework.msscbrewery.web.formats.CodecJsonHttpMessageConverter;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import guru.springframework.msscbrewery.web.mappers.BeerFormMapper;
+import guru.springframework.msscbrewery.web.mappers.BeerMapperImpl;
+import guru.springframework.msscbrewery.web.mappers.BulkMapper;
+import guru.springframework.msscbrewery.web.mappers.DateMapper;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * The production beans the benchmarks exercise, wired without starting Boot's auto-configuration or a servlet
+ * container: the heap repository, the MapStruct mappers, the beer service and the v1 controller.
+ */
+@Configuration
+@Import({DateMapper.class, BeerMapperImpl.class, BeerFormMapper.class, BulkMapper.class,
+        InMemoryBeerRepository.class, BeerServiceImpl.class, BeerLookupBatcher.class, BatchIngester.class,
+        CatalogExporter.class, LookupWriter.class, BeerController.class, MvcExceptionHandler.class,
+        ErrorMetrics.class, ValidationErrorWriter.class})
+public class BenchmarkContext {
+
+    @Bean
+    public ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new AfterburnerModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Bean
+    public JsonCodecs jsonCodecs(ObjectMapper objectMapper) {
+        return new JsonCodecs(objectMapper, BeerDto.class);
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public LocalValidatorFactoryBean validator() {
+        return new LocalValidatorFactoryBean();
+    }
+
+    public static AnnotationConfigApplicationContext start() {
+        return new AnnotationConfigApplicationContext(BenchmarkContext.class);
+    }
+
+    /**
+     * MockMvc over the v1 controller with the same converters and advice as the application.
+     */
+    public static MockMvc mockMvc(AnnotationConfigApplicationContext context) {
+        return MockMvcBuilders.standaloneSetup(context.getBean(BeerController.class))
+                .setControllerAdvice(context.getBean(MvcExceptionHandler.class))
+                .setValidator(context.getBean(LocalValidatorFactoryBean.class))
+                .setMessageConverters(new StringHttpMessageConverter(),
+                        new CodecJsonHttpMessageConverter(context.getBean(ObjectMapper.class),
+                                context.getBean(JsonCodecs.class)))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.mappers.BeerMapper;
+import guru.springframework.msscbrewery.web.mappers.BulkMapper;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-list entity to DTO mapping: the generated MapStruct list method against {@link BulkMapper}, which
+ * goes parallel above its threshold.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BulkMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    AnnotationConfigApplicationContext context;
+    BeerMapper beerMapper;
+    BulkMapper bulkMapper;
+    List<Beer> beers;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        beerMapper = context.getBean(BeerMapper.class);
+        bulkMapper = context.getBean(BulkMapper.class);
+        long now = System.currentTimeMillis();
+        beers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            beers.add(Beer.builder()
+                    .id(UUID.randomUUID())
+                    .beerName("Beer " + i)
+                    .beerStyle(BeerStyleEnum.values()[i % BeerStyleEnum.values().length])
+                    .upc((long) i + 1)
+                    .createdDate(now)
+                    .lastUpdatedDate(now)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BeerDto> mapStructList() {
+        return beerMapper.beersToBeerDtos(beers);
+    }
+
+    @Benchmark
+    public List<BeerDto> bulkMapper() {
+        return bulkMapper.mapList(beers, beerMapper::beerToBeerDto);
+    }
+}
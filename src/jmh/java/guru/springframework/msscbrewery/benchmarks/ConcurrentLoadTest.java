@@ -0,0 +1,96 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running application: keeps {@code concurrency} requests in flight for
+ * {@code seconds} and prints throughput, error count, 503 rejections and mean latency. Not a JMH benchmark;
+ * run it against the app started once with the default Tomcat pool and once with
+ * {@code brewery.execution.mode=bounded} and compare latency and how the excess load is answered.
+ * <p>
+ * By default it creates one beer and then requests {@code GET /api/v1/beer/{id}} for it, the per-request hot
+ * path; a full URL as the first argument is requested as is instead.
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec \
+ *     -Djmh.main=guru.springframework.msscbrewery.benchmarks.ConcurrentLoadTest \
+ *     -Djmh.args="http://localhost:8080 10000 60"
+ * </pre>
+ * Raise the client's open file limit ({@code ulimit -n}) and the server's {@code server.tomcat.max-connections}
+ * above the concurrency first.
+ */
+public class ConcurrentLoadTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        URI uri = target.getPath().startsWith("/api/") ? target : seedBeer(client, target);
+        System.out.println("target=" + uri);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        AtomicLong latencyNanos = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() == 503) {
+                            rejected.increment();
+                        } else if (error != null || response.statusCode() >= 400) {
+                            failed.increment();
+                        } else {
+                            completed.increment();
+                            latencyNanos.addAndGet(System.nanoTime() - sent);
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.tryAcquire(concurrency, 30, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long ok = completed.sum();
+        System.out.printf("concurrency=%d elapsed=%.1fs ok=%d failed=%d rejected=%d throughput=%.0f req/s"
+                        + " mean=%.1f ms%n",
+                concurrency, elapsed, ok, failed.sum(), rejected.sum(), ok / elapsed,
+                ok == 0 ? 0.0 : latencyNanos.get() / 1e6 / ok);
+    }
+
+    private static URI seedBeer(HttpClient client, URI base) throws IOException, InterruptedException {
+        HttpRequest create = HttpRequest.newBuilder(base.resolve("/api/v1/beer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"beerName\":\"Load Test Lager\",\"beerStyle\":\"LAGER\",\"upc\":1}"))
+                .build();
+        HttpResponse<Void> response = client.send(create, HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException("Creating the test beer answered "
+                        + response.statusCode() + " without a Location"));
+        return base.resolve(location);
+    }
+}
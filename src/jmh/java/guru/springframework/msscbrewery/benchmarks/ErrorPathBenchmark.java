@@ -0,0 +1,129 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.web.errors.ValidationErrorWriter;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import org.hibernate.validator.HibernateValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 400 path for a beer that breaks every constraint: rendering the errors the way the handlers used to
+ * (a list of concatenated strings, or whole {@link ObjectError}s, through Jackson) against the precompiled
+ * templates of {@link ValidationErrorWriter}, and validating with and without fail-fast.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    ValidatorFactory validatorFactory;
+    ValidatorFactory failFastFactory;
+    Validator validator;
+    Validator failFastValidator;
+    ObjectMapper objectMapper;
+    ValidationErrorWriter errorWriter;
+    BeerDtoV2 invalidBeer;
+    List<ObjectError> errors;
+    MockHttpServletRequest request;
+    MockHttpServletRequest problemRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        failFastFactory = Validation.byProvider(HibernateValidator.class).configure().failFast(true)
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+        failFastValidator = failFastFactory.getValidator();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        errorWriter = new ValidationErrorWriter(objectMapper);
+        invalidBeer = BeerDtoV2.builder()
+                .beerName(" ")
+                .beerStyleStr("PALE")
+                .upc(-1L)
+                .build();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidBeer, "beerDtoV2");
+        new SpringValidatorAdapter(validator).validate(invalidBeer, bindingResult);
+        errors = bindingResult.getAllErrors();
+        request = new MockHttpServletRequest("POST", "/api/v2/beer");
+        problemRequest = new MockHttpServletRequest("POST", "/api/v2/beer");
+        problemRequest.addHeader("Accept", MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+        failFastFactory.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyStringList() throws IOException {
+        List<String> messages = new ArrayList<>(errors.size());
+        errors.forEach(error -> messages.add(error.getCodes()[0] + " : " + error.getDefaultMessage()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), messages);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyObjectErrors() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errors);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse templates() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        errorWriter.writeErrors(errors, request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse problemTemplates() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        errorWriter.writeErrors(errors, problemRequest, response);
+        return response;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BeerDtoV2>> validateAll() {
+        return validator.validate(invalidBeer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BeerDtoV2>> validateFailFast() {
+        return failFastValidator.validate(invalidBeer);
+    }
+}
@@ -0,0 +1,68 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.web.mappers.BeerFormMapper;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BindException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The POST /api/v1/beer/form path below the controller: binding alone, and binding plus the save. The
+ * context, and with it the heap repository, is rebuilt every iteration so the store does not grow without
+ * bound across the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FormBindingBenchmark {
+
+    AnnotationConfigApplicationContext context;
+    BeerService beerService;
+    BeerFormMapper beerFormMapper;
+    MultiValueMap<String, String> form;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        beerService = context.getBean(BeerService.class);
+        beerFormMapper = context.getBean(BeerFormMapper.class);
+        form = new LinkedMultiValueMap<>();
+        form.add("beerName", "Galaxy Cat");
+        form.add("beerStyle", "IPA");
+        form.add("upc", "337010000");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDto bindForm() throws BindException {
+        return beerFormMapper.formToBeerDto(form);
+    }
+
+    @Benchmark
+    public BeerDto saveNewBeerDtoViaForm() throws BindException {
+        return beerService.saveNewBeerDtoViaForm(form);
+    }
+}
@@ -0,0 +1,113 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the v1 and v2 beer representations with the same ObjectMapper configuration
+ * the application builds, with and without Afterburner and compact (epoch millisecond) dates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"false", "true"})
+    boolean afterburner;
+
+    @Param({"false", "true"})
+    boolean compactDates;
+
+    ObjectWriter beerDtoWriter;
+    ObjectReader beerDtoReader;
+    ObjectWriter beerDtoV2Writer;
+    ObjectReader beerDtoV2Reader;
+    BeerDto beerDto;
+    BeerDtoV2 beerDtoV2;
+    byte[] beerDtoJson;
+    byte[] beerDtoV2Json;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (afterburner) {
+            builder.modulesToInstall(new AfterburnerModule());
+        }
+        if (compactDates) {
+            builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                            DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        } else {
+            builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        }
+        ObjectMapper objectMapper = builder.build();
+        beerDtoWriter = objectMapper.writerFor(BeerDto.class);
+        beerDtoReader = objectMapper.readerFor(BeerDto.class);
+        beerDtoV2Writer = objectMapper.writerFor(BeerDtoV2.class);
+        beerDtoV2Reader = objectMapper.readerFor(BeerDtoV2.class);
+        beerDto = BeerDto.builder()
+                .id(UUID.randomUUID())
+                .beerName("Galaxy Cat")
+                .beerStyle("IPA")
+                .upc(337010000L)
+                .createdDate(OffsetDateTime.now())
+                .lastUpdatedDate(OffsetDateTime.now())
+                .build();
+        beerDtoV2 = BeerDtoV2.builder()
+                .id(UUID.randomUUID())
+                .beerName("Galaxy Cat")
+                .beerStyle(BeerStyleEnum.IPA)
+                .beerStyleStr("IPA")
+                .upc(337010000L)
+                .build();
+        beerDtoJson = beerDtoWriter.writeValueAsBytes(beerDto);
+        beerDtoV2Json = beerDtoV2Writer.writeValueAsBytes(beerDtoV2);
+    }
+
+    @Benchmark
+    public byte[] writeBeerDto() throws IOException {
+        return beerDtoWriter.writeValueAsBytes(beerDto);
+    }
+
+    @Benchmark
+    public BeerDto readBeerDto() throws IOException {
+        return beerDtoReader.readValue(beerDtoJson);
+    }
+
+    @Benchmark
+    public byte[] writeBeerDtoV2() throws IOException {
+        return beerDtoV2Writer.writeValueAsBytes(beerDtoV2);
+    }
+
+    @Benchmark
+    public BeerDtoV2 readBeerDtoV2() throws IOException {
+        return beerDtoV2Reader.readValue(beerDtoV2Json);
+    }
+}
@@ -0,0 +1,123 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.mappers.BeerMapper;
+import guru.springframework.msscbrewery.web.mappers.DateMapper;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} per operation; the
+ * {@code legacy*} benchmarks reproduce the Timestamp based date conversions the mapper used before the domain
+ * carried epoch millis, as a baseline for the current ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    AnnotationConfigApplicationContext context;
+    BeerMapper beerMapper;
+    DateMapper dateMapper;
+    Beer beer;
+    BeerDto beerDto;
+    BeerDtoV2 beerDtoV2;
+    long epochMillis;
+    Timestamp timestamp;
+    OffsetDateTime offsetDateTime;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        beerMapper = context.getBean(BeerMapper.class);
+        dateMapper = context.getBean(DateMapper.class);
+        epochMillis = System.currentTimeMillis();
+        timestamp = new Timestamp(epochMillis);
+        offsetDateTime = OffsetDateTime.now();
+        beer = Beer.builder()
+                .id(UUID.randomUUID())
+                .beerName("Galaxy Cat")
+                .beerStyle(BeerStyleEnum.IPA)
+                .upc(337010000L)
+                .createdDate(epochMillis)
+                .lastUpdatedDate(epochMillis)
+                .build();
+        beerDto = beerMapper.beerToBeerDto(beer);
+        beerDtoV2 = beerMapper.beerToBeerDtoV2(beer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDto beerToBeerDto() {
+        return beerMapper.beerToBeerDto(beer);
+    }
+
+    @Benchmark
+    public Beer beerDtoToBeer() {
+        return beerMapper.beerDtoToBeer(beerDto);
+    }
+
+    @Benchmark
+    public BeerDtoV2 beerToBeerDtoV2() {
+        return beerMapper.beerToBeerDtoV2(beer);
+    }
+
+    @Benchmark
+    public Beer beerDtoV2ToBeer() {
+        return beerMapper.beerDtoV2ToBeer(beerDtoV2);
+    }
+
+    @Benchmark
+    public OffsetDateTime epochMillisToOffsetDateTime() {
+        return dateMapper.asOffsetDateTime(epochMillis);
+    }
+
+    @Benchmark
+    public long offsetDateTimeToEpochMillis() {
+        return dateMapper.asEpochMillis(offsetDateTime);
+    }
+
+    @Benchmark
+    public OffsetDateTime legacyTimestampToOffsetDateTime() {
+        return OffsetDateTime.of(
+                timestamp.toLocalDateTime().getYear(),
+                timestamp.toLocalDateTime().getMonthValue(),
+                timestamp.toLocalDateTime().getDayOfMonth(),
+                timestamp.toLocalDateTime().getHour(),
+                timestamp.toLocalDateTime().getMinute(),
+                timestamp.toLocalDateTime().getSecond(),
+                timestamp.toLocalDateTime().getNano(),
+                ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public Timestamp legacyOffsetDateTimeToTimestamp() {
+        return Timestamp.valueOf(offsetDateTime.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    }
+}
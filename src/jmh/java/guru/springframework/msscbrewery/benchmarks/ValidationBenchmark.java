@@ -0,0 +1,84 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import guru.springframework.msscbrewery.web.model.v2.ValueOfEnum;
+import guru.springframework.msscbrewery.web.model.v2.ValueOfEnumValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    ValidatorFactory validatorFactory;
+    Validator validator;
+    ValueOfEnumValidator valueOfEnumValidator;
+    BeerDtoV2 validBeer;
+    BeerDtoV2 invalidBeer;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valueOfEnumValidator = new ValueOfEnumValidator();
+        valueOfEnumValidator.initialize(
+                BeerDtoV2.class.getDeclaredField("beerStyleStr").getAnnotation(ValueOfEnum.class));
+        validBeer = BeerDtoV2.builder()
+                .beerName("Galaxy Cat")
+                .beerStyle(BeerStyleEnum.IPA)
+                .beerStyleStr("IPA")
+                .upc(337010000L)
+                .build();
+        invalidBeer = BeerDtoV2.builder()
+                .beerName(" ")
+                .beerStyleStr("PALE")
+                .upc(-1L)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean valueOfEnumHit() {
+        return valueOfEnumValidator.isValid("IPA", null);
+    }
+
+    @Benchmark
+    public boolean valueOfEnumMiss() {
+        return valueOfEnumValidator.isValid("PALE", null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BeerDtoV2>> validateValidBeer() {
+        return validator.validate(validBeer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BeerDtoV2>> validateInvalidBeer() {
+        return validator.validate(invalidBeer);
+    }
+}
@@ -0,0 +1,94 @@
+package guru.springframework.msscbrewery.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import guru.springframework.msscbrewery.web.formats.BinaryFormats;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a page of v2 beers as JSON, CBOR and Smile, with the mappers the converters use.
+ * Payload sizes are printed once per fork from {@link #setUp()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"1", "100"})
+    int beers;
+
+    ObjectWriter writer;
+    ObjectReader reader;
+    List<BeerDtoV2> page;
+    byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper;
+        switch (format) {
+            case "cbor":
+                mapper = BinaryFormats.cborMapper();
+                break;
+            case "smile":
+                mapper = BinaryFormats.smileMapper();
+                break;
+            default:
+                mapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+        TypeReference<List<BeerDtoV2>> type = new TypeReference<List<BeerDtoV2>>() {
+        };
+        writer = mapper.writerFor(type);
+        reader = mapper.readerFor(type);
+        BeerStyleEnum[] styles = BeerStyleEnum.values();
+        page = new ArrayList<>(beers);
+        for (int i = 0; i < beers; i++) {
+            BeerStyleEnum style = styles[i % styles.length];
+            page.add(BeerDtoV2.builder()
+                    .id(UUID.randomUUID())
+                    .beerName("Beer " + i)
+                    .beerStyle(style)
+                    .beerStyleStr(style.name())
+                    .upc(337010000L + i)
+                    .build());
+        }
+        encoded = writer.writeValueAsBytes(page);
+        System.out.println(format + ": " + beers + " beers = " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<BeerDtoV2> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -6,7 +6,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.sql.Timestamp;
 import java.util.UUID;
 
 @Data
@@ -23,6 +22,14 @@ public class Beer {
 
     private Long upc;
 
-    private Timestamp createdDate;
-    private Timestamp lastUpdatedDate;
+    /**
+     * Incremented by the repository on every save; starts at 1.
+     */
+    private Long version;
+
+    /**
+     * Epoch millis; {@code 0} when unset.
+     */
+    private long createdDate;
+    private long lastUpdatedDate;
 }
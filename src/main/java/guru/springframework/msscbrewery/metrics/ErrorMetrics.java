@@ -0,0 +1,57 @@
+package guru.springframework.msscbrewery.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.ConstraintViolation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counters for the errors the web handlers turn into responses: {@code brewery.exceptions} by exception type
+ * and {@code brewery.validation.failures} by constraint ({@code NotBlank}, {@code Positive}, ...). A counter is
+ * registered the first time its type or constraint is seen and looked up by key afterwards, so the steady
+ * state allocates nothing.
+ */
+@Component
+public class ErrorMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Class<?>, Counter> exceptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> constraints = new ConcurrentHashMap<>();
+
+    public ErrorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void exception(Throwable e) {
+        Counter counter = exceptions.get(e.getClass());
+        if (counter == null) {
+            counter = exceptions.computeIfAbsent(e.getClass(), type -> Counter.builder("brewery.exceptions")
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    public void constraint(ObjectError error) {
+        constraint(error.getCode());
+    }
+
+    public void constraint(ConstraintViolation<?> violation) {
+        constraint(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName());
+    }
+
+    private void constraint(String name) {
+        String key = name == null ? "unknown" : name;
+        Counter counter = constraints.get(key);
+        if (counter == null) {
+            counter = constraints.computeIfAbsent(key, constraint -> Counter.builder("brewery.validation.failures")
+                    .tag("constraint", constraint)
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,106 @@
+package guru.springframework.msscbrewery.metrics;
+
+import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.services.CustomerService;
+import guru.springframework.msscbrewery.services.V2.BeerServiceV2;
+import guru.springframework.msscbrewery.web.mappers.BeerMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the services and {@link BeerMapper} in JDK proxies that time every interface method:
+ * {@code brewery.service} / {@code brewery.mapper} tagged with the interface, method and bean name (so a
+ * cache decorator and the implementation behind it are told apart). All timers are registered when the bean
+ * is wrapped; a call does one map lookup and records on an existing timer, without building tags.
+ * <p>
+ * Percentiles, histograms and SLA buckets come from Boot's per-meter distribution properties, e.g.
+ * {@code management.metrics.distribution.percentiles.brewery.service=0.5,0.99}. Beans are injected by their
+ * interface everywhere, which is what lets a proxy stand in for them. Controllers are already timed by
+ * Boot as {@code http.server.requests}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "brewery.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MeteredBeanPostProcessor implements BeanPostProcessor {
+
+    private static final Class<?>[] SERVICES = {BeerService.class, BeerServiceV2.class, CustomerService.class};
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MeteredBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        for (Class<?> service : SERVICES) {
+            if (service.isInstance(bean)) {
+                return wrap(bean, beanName, service, "brewery.service");
+            }
+        }
+        if (bean instanceof BeerMapper) {
+            return wrap(bean, beanName, BeerMapper.class, "brewery.mapper");
+        }
+        return bean;
+    }
+
+    private Object wrap(Object bean, String beanName, Class<?> type, String meterName) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return bean;
+        }
+        Map<Method, Timer> timers = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            timers.put(method, Timer.builder(meterName)
+                    .tag("type", type.getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("bean", beanName)
+                    .register(registry));
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new TimingHandler(bean, timers));
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, Timer> timers;
+
+        TimingHandler(Object target, Map<Method, Timer> timers) {
+            this.target = target;
+            this.timers = timers;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                return invokeTarget(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package guru.springframework.msscbrewery.persistence;
+
+import lombok.Value;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * One change in the write-ahead log, also used as the entry format of snapshots.
+ * <p>
+ * On disk a record is {@code [int length][int crc32][long sequence][byte operation][long idMsb][long idLsb]
+ * [short entityLength][entity][payload]}, where {@code length} and {@code crc32} cover everything after the crc.
+ */
+@Value
+public class JournalRecord {
+
+    public enum Operation {
+        SAVE, DELETE
+    }
+
+    private static final int FIXED_BYTES = Long.BYTES + 1 + Long.BYTES * 2 + Short.BYTES;
+
+    long sequence;
+    Operation operation;
+    String entity;
+    UUID id;
+    byte[] payload;
+
+    int encodedSize() {
+        return Integer.BYTES * 2 + FIXED_BYTES + entity.length() + payload.length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        byte[] entityBytes = entity.getBytes(StandardCharsets.US_ASCII);
+        int bodyLength = FIXED_BYTES + entityBytes.length + payload.length;
+        int start = buffer.position();
+        buffer.putInt(bodyLength);
+        buffer.putInt(0);
+        int bodyStart = buffer.position();
+        buffer.putLong(sequence);
+        buffer.put((byte) operation.ordinal());
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        buffer.putShort((short) entityBytes.length);
+        buffer.put(entityBytes);
+        buffer.put(payload);
+
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(bodyStart).limit(bodyStart + bodyLength);
+        crc.update(body);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    /**
+     * Reads the next record, or returns {@code null} at end of stream or at a torn / corrupt tail. A length
+     * prefix claiming more than the {@code remaining} bytes of the file also counts as a torn tail, so a corrupt
+     * length never makes recovery allocate a huge buffer.
+     */
+    static JournalRecord readFrom(DataInputStream in, long remaining) throws IOException {
+        byte[] body;
+        int expectedCrc;
+        try {
+            int bodyLength = in.readInt();
+            if (bodyLength < FIXED_BYTES || bodyLength > remaining - Integer.BYTES * 2) {
+                return null;
+            }
+            expectedCrc = in.readInt();
+            body = new byte[bodyLength];
+            in.readFully(body);
+        } catch (EOFException e) {
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        long sequence = buffer.getLong();
+        Operation operation = Operation.values()[buffer.get()];
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        byte[] entityBytes = new byte[buffer.getShort()];
+        buffer.get(entityBytes);
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        return new JournalRecord(sequence, operation, new String(entityBytes, StandardCharsets.US_ASCII), id, payload);
+    }
+}
@@ -0,0 +1,66 @@
+package guru.springframework.msscbrewery.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.repositories.WriteJournal;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link WriteJournal} that appends JSON encoded entity state to the {@link WriteAheadLog}. A commit waits at
+ * most {@code commitTimeout} for the log to sync and then fails rather than holding the writer indefinitely.
+ */
+public class LogWriteJournal implements WriteJournal {
+
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private final WriteAheadLog log;
+    private final ObjectMapper objectMapper;
+    private final Duration commitTimeout;
+
+    public LogWriteJournal(WriteAheadLog log, ObjectMapper objectMapper, Duration commitTimeout) {
+        this.log = log;
+        this.objectMapper = objectMapper;
+        this.commitTimeout = commitTimeout;
+    }
+
+    @Override
+    public Commit recordSave(String entity, UUID id, Object state) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(state);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return commit(log.append(JournalRecord.Operation.SAVE, entity, id, payload));
+    }
+
+    @Override
+    public Commit recordDelete(String entity, UUID id) {
+        return commit(log.append(JournalRecord.Operation.DELETE, entity, id, NO_PAYLOAD));
+    }
+
+    private Commit commit(CompletableFuture<Void> durable) {
+        return () -> {
+            try {
+                durable.get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for the write-ahead log", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("write-ahead log failed", e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("write-ahead log did not sync within " + commitTimeout, e);
+            }
+        };
+    }
+}
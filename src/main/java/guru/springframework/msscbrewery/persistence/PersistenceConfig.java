@@ -0,0 +1,42 @@
+package guru.springframework.msscbrewery.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Wires the write-ahead log and snapshots when {@code brewery.persistence.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+@ConditionalOnProperty(prefix = "brewery.persistence", name = "enabled", havingValue = "true")
+public class PersistenceConfig {
+
+    @Bean
+    public SnapshotStore snapshotStore(PersistenceProperties properties) throws IOException {
+        return new SnapshotStore(directory(properties).resolve("snapshots"));
+    }
+
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(PersistenceProperties properties, SnapshotStore snapshotStore)
+            throws IOException {
+        return new WriteAheadLog(directory(properties).resolve("wal"), properties.getSegmentBytes(),
+                snapshotStore.latestSequence());
+    }
+
+    @Bean
+    public LogWriteJournal writeJournal(WriteAheadLog writeAheadLog, ObjectMapper objectMapper,
+                                        PersistenceProperties properties) {
+        return new LogWriteJournal(writeAheadLog, objectMapper, properties.getCommitTimeout());
+    }
+
+    private static Path directory(PersistenceProperties properties) {
+        return Paths.get(properties.getDirectory());
+    }
+}
@@ -0,0 +1,33 @@
+package guru.springframework.msscbrewery.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.persistence")
+public class PersistenceProperties {
+
+    /**
+     * Journal repository changes to disk and restore them at startup.
+     */
+    private boolean enabled = false;
+
+    private String directory = "data";
+
+    /**
+     * Size after which the active log segment is sealed.
+     */
+    private long segmentBytes = 64 * 1024 * 1024;
+
+    /**
+     * How often sealed segments are folded into a new snapshot.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(10);
+
+    /**
+     * Longest a write waits for the log to sync before it fails.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,166 @@
+package guru.springframework.msscbrewery.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compact snapshots of the journaled state.
+ * <p>
+ * A snapshot holds the latest {@code SAVE} record of every live entity plus the sequence number it is current
+ * up to. Snapshots are built by folding the previous snapshot and the sealed log segments, not by reading the
+ * live repositories, so taking one never blocks writers and always matches a prefix of the log exactly.
+ */
+@Slf4j
+public class SnapshotStore {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAGIC = 0x42524557;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Sequence number the latest snapshot is current up to, or 0 if there is none.
+     */
+    public long latestSequence() throws IOException {
+        Optional<Path> latest = latest();
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        try (DataInputStream in = open(latest.get())) {
+            return in.readLong();
+        }
+    }
+
+    /**
+     * Feeds every record of the latest snapshot to {@code consumer} and returns its sequence number.
+     */
+    public long load(Consumer<JournalRecord> consumer) throws IOException {
+        Optional<Path> latest = latest();
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        long remaining = Files.size(latest.get()) - Integer.BYTES - Long.BYTES;
+        try (DataInputStream in = open(latest.get())) {
+            long sequence = in.readLong();
+            JournalRecord record;
+            while ((record = JournalRecord.readFrom(in, remaining)) != null) {
+                remaining -= record.encodedSize();
+                consumer.accept(record);
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Folds the sealed segments of {@code wal} into a new snapshot, then deletes them and the old snapshot.
+     */
+    public void compact(WriteAheadLog wal) throws IOException {
+        List<Path> sealed = wal.sealedSegments();
+        if (sealed.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<UUID, JournalRecord>> live = new HashMap<>();
+        long[] sequence = {load(record -> apply(live, record))};
+        for (Path segment : sealed) {
+            WriteAheadLog.readSegment(segment, record -> {
+                apply(live, record);
+                sequence[0] = Math.max(sequence[0], record.getSequence());
+            });
+        }
+
+        Optional<Path> previous = latest();
+        Path target = write(sequence[0], live);
+        if (previous.isPresent() && !previous.get().equals(target)) {
+            Files.deleteIfExists(previous.get());
+        }
+        for (Path segment : sealed) {
+            Files.deleteIfExists(segment);
+        }
+        log.info("Compacted {} segment(s) into {}", sealed.size(), target.getFileName());
+    }
+
+    private static void apply(Map<String, Map<UUID, JournalRecord>> live, JournalRecord record) {
+        Map<UUID, JournalRecord> entities = live.computeIfAbsent(record.getEntity(), entity -> new LinkedHashMap<>());
+        if (record.getOperation() == JournalRecord.Operation.SAVE) {
+            entities.put(record.getId(), record);
+        } else {
+            entities.remove(record.getId());
+        }
+    }
+
+    private Path write(long sequence, Map<String, Map<UUID, JournalRecord>> live) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGIC);
+            buffer.putLong(sequence);
+            for (Map<UUID, JournalRecord> entities : live.values()) {
+                for (JournalRecord record : entities.values()) {
+                    if (buffer.remaining() < record.encodedSize()) {
+                        drain(channel, buffer);
+                        if (buffer.capacity() < record.encodedSize()) {
+                            buffer = ByteBuffer.allocate(Integer.highestOneBit(record.encodedSize()) << 1);
+                        }
+                    }
+                    record.writeTo(buffer);
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private DataInputStream open(Path snapshot) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)));
+        if (in.readInt() != MAGIC) {
+            in.close();
+            throw new IOException("Not a snapshot file: " + snapshot);
+        }
+        return in;
+    }
+
+    private Optional<Path> latest() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .max(Path::compareTo);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package guru.springframework.msscbrewery.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.domain.Customer;
+import guru.springframework.msscbrewery.repositories.BeerRepository;
+import guru.springframework.msscbrewery.repositories.CustomerRepository;
+import guru.springframework.msscbrewery.repositories.InMemoryBeerRepository;
+import guru.springframework.msscbrewery.repositories.InMemoryCustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the repositories from the latest snapshot plus the log tail at startup, and compacts the log
+ * into a fresh snapshot on a fixed schedule afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "brewery.persistence", name = "enabled", havingValue = "true")
+public class StoreRecovery {
+
+    private final WriteAheadLog writeAheadLog;
+    private final SnapshotStore snapshotStore;
+    private final BeerRepository beerRepository;
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+    private final PersistenceProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StoreRecovery(WriteAheadLog writeAheadLog, SnapshotStore snapshotStore, BeerRepository beerRepository,
+                         CustomerRepository customerRepository, ObjectMapper objectMapper,
+                         PersistenceProperties properties) {
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotStore = snapshotStore;
+        this.beerRepository = beerRepository;
+        this.customerRepository = customerRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        long snapshotSequence = snapshotStore.load(this::apply);
+        writeAheadLog.replay(snapshotSequence, this::apply);
+        log.info("Recovered {} beer(s) and {} customer(s) from {}", beerRepository.count(),
+                customerRepository.count(), properties.getDirectory());
+
+        long interval = properties.getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void snapshot() {
+        try {
+            writeAheadLog.roll().join();
+            snapshotStore.compact(writeAheadLog);
+        } catch (IOException | RuntimeException e) {
+            log.error("Snapshot failed, keeping log segments", e);
+        }
+    }
+
+    private void apply(JournalRecord record) {
+        try {
+            switch (record.getEntity()) {
+                case InMemoryBeerRepository.ENTITY:
+                    if (record.getOperation() == JournalRecord.Operation.SAVE) {
+                        beerRepository.restore(objectMapper.readValue(record.getPayload(), Beer.class));
+                    } else {
+                        beerRepository.evict(record.getId());
+                    }
+                    break;
+                case InMemoryCustomerRepository.ENTITY:
+                    if (record.getOperation() == JournalRecord.Operation.SAVE) {
+                        customerRepository.restore(objectMapper.readValue(record.getPayload(), Customer.class));
+                    } else {
+                        customerRepository.evict(record.getId());
+                    }
+                    break;
+                default:
+                    log.warn("Skipping journal record {} for unknown entity {}", record.getSequence(),
+                            record.getEntity());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
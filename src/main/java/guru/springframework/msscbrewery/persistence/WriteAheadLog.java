@@ -0,0 +1,350 @@
+package guru.springframework.msscbrewery.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of {@link JournalRecord}s split into segment files. Segment names carry the sequence number
+ * that was next when the segment was opened, so sorting by name gives log order.
+ * <p>
+ * Appends are queued and written by a single flusher thread. The flusher drains whatever has queued up while
+ * the previous batch was being written, writes it with one {@code write} and makes it durable with one
+ * {@code fsync}, so a burst of concurrent writers shares a single disk flush (group commit). Once the active
+ * segment grows past the configured size it is sealed and a new one is started; sealed segments are folded
+ * into snapshots by {@link SnapshotStore} and then deleted.
+ * <p>
+ * A failed write fails its batch and cuts the segment back to the last durable byte, so later records are
+ * never appended behind a torn one. If the flusher itself stops, everything still queued is failed and
+ * further appends are refused.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Object sequenceLock = new Object();
+    private final Thread flusher;
+
+    private long lastSequence;
+    private volatile boolean running = true;
+    private volatile Throwable flusherFailure;
+    private long activeSegmentNumber;
+    private volatile Path activeSegment;
+    private FileChannel channel;
+    private long durableBytes;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+    /**
+     * Opens the log in {@code directory}, truncating a torn tail left by a crash, and starts a fresh segment.
+     *
+     * @param minSequence sequence already covered by the latest snapshot; numbering continues above it even if
+     *                    every segment has been compacted away
+     */
+    public WriteAheadLog(Path directory, long segmentBytes, long minSequence) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.lastSequence = Math.max(minSequence, recoverLastSequence());
+        openSegment();
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues a record and returns a future completed once it, and everything queued before it, is on disk.
+     */
+    public CompletableFuture<Void> append(JournalRecord.Operation operation, String entity, UUID id,
+                                          byte[] payload) {
+        Pending pending;
+        synchronized (sequenceLock) {
+            checkRunning();
+            pending = new Pending(new JournalRecord(++lastSequence, operation, entity, id, payload));
+            queue.add(pending);
+        }
+        return pending.done;
+    }
+
+    /**
+     * Seals the active segment once everything queued so far has been flushed.
+     */
+    public CompletableFuture<Void> roll() {
+        Pending marker = new Pending(null);
+        synchronized (sequenceLock) {
+            checkRunning();
+            queue.add(marker);
+        }
+        return marker.done;
+    }
+
+    private void checkRunning() {
+        if (flusherFailure != null) {
+            throw new IllegalStateException("write-ahead log flusher has stopped", flusherFailure);
+        }
+        if (!running) {
+            throw new IllegalStateException("write-ahead log is closed");
+        }
+    }
+
+    /**
+     * Segments that no longer receive writes, oldest first. Only segments older than the active one qualify, so
+     * a segment that is being opened is never handed out as sealed.
+     */
+    public List<Path> sealedSegments() throws IOException {
+        Path active = activeSegment;
+        return segments().stream()
+                .filter(segment -> segment.getFileName().compareTo(active.getFileName()) < 0)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Feeds every record with a sequence above {@code afterSequence} to {@code consumer}, in log order.
+     */
+    public void replay(long afterSequence, Consumer<JournalRecord> consumer) throws IOException {
+        for (Path segment : segments()) {
+            readSegment(segment, record -> {
+                if (record.getSequence() > afterSequence) {
+                    consumer.accept(record);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (sequenceLock) {
+            running = false;
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            // fails whatever is still queued rather than leaving its writers waiting
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel.close();
+    }
+
+    static long readSegment(Path segment, Consumer<JournalRecord> consumer) throws IOException {
+        long size = Files.size(segment);
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            JournalRecord record;
+            while ((record = JournalRecord.readFrom(in, size - validBytes)) != null) {
+                validBytes += record.encodedSize();
+                consumer.accept(record);
+            }
+        }
+        return validBytes;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long recoverLastSequence() throws IOException {
+        long[] last = {0};
+        for (Path segment : segments()) {
+            long validBytes = readSegment(segment, record -> last[0] = record.getSequence());
+            if (validBytes < Files.size(segment)) {
+                log.warn("Truncating torn tail of {} at {} bytes", segment, validBytes);
+                try (FileChannel torn = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    torn.truncate(validBytes);
+                    torn.force(true);
+                }
+            }
+        }
+        return last[0];
+    }
+
+    private void openSegment() throws IOException {
+        long next;
+        synchronized (sequenceLock) {
+            next = lastSequence + 1;
+        }
+        activeSegmentNumber = Math.max(next, activeSegmentNumber + 1);
+        Path segment = directory.resolve(
+                String.format("%s%020d%s", SEGMENT_PREFIX, activeSegmentNumber, SEGMENT_SUFFIX));
+        // publish the new segment before its file exists, so compaction never sees it as sealed
+        activeSegment = segment;
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        durableBytes = channel.size();
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop(batch, new IllegalStateException("write-ahead log flusher was interrupted", e));
+        } catch (Throwable e) {
+            log.error("Write-ahead log flusher failed", e);
+            stop(batch, e);
+        }
+    }
+
+    /**
+     * Refuses further appends and fails the batch in hand and everything still queued; futures that already
+     * completed keep their result.
+     */
+    private void stop(List<Pending> batch, Throwable cause) {
+        synchronized (sequenceLock) {
+            flusherFailure = cause;
+            running = false;
+        }
+        for (Pending pending : batch) {
+            pending.done.completeExceptionally(cause);
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.done.completeExceptionally(cause);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        int start = 0;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).record == null) {
+                    write(batch, start, i);
+                    rollSegment();
+                    batch.get(i).done.complete(null);
+                    start = i + 1;
+                }
+            }
+            write(batch, start, batch.size());
+            if (channel.size() >= segmentBytes) {
+                rollSegment();
+            }
+        } catch (IOException e) {
+            for (int i = start; i < batch.size(); i++) {
+                batch.get(i).done.completeExceptionally(new UncheckedIOException(e));
+            }
+            discardTornWrite();
+        }
+    }
+
+    /**
+     * Recovery stops reading a segment at its first torn record, so nothing may be appended behind one: cut
+     * the segment back to its last durable byte, or give it up for a new segment if that fails too.
+     */
+    private void discardTornWrite() {
+        try {
+            channel.truncate(durableBytes);
+            channel.force(true);
+            return;
+        } catch (IOException e) {
+            log.warn("Could not truncate {} back to {} bytes, starting a new segment", activeSegment,
+                    durableBytes, e);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close {}", activeSegment, e);
+        }
+        try {
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(List<Pending> batch, int from, int to) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        buffer.clear();
+        for (int i = from; i < to; i++) {
+            JournalRecord record = batch.get(i).record;
+            if (buffer.remaining() < record.encodedSize()) {
+                drain();
+                if (buffer.capacity() < record.encodedSize()) {
+                    buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(record.encodedSize()) << 1);
+                }
+            }
+            record.writeTo(buffer);
+        }
+        drain();
+        channel.force(false);
+        durableBytes = channel.size();
+        for (int i = from; i < to; i++) {
+            batch.get(i).done.complete(null);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void rollSegment() throws IOException {
+        if (channel.size() == 0) {
+            return;
+        }
+        channel.force(true);
+        channel.close();
+        openSegment();
+    }
+
+    private static final class Pending {
+        final JournalRecord record;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(JournalRecord record) {
+            this.record = record;
+        }
+    }
+}
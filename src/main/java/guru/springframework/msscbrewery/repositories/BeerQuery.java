@@ -0,0 +1,72 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filter for paged beer listings. Every criterion is optional; the most selective one present decides which
+ * index drives the listing and therefore the sort order of the result. An inverted upc range is rejected with
+ * {@link InvalidQueryException}.
+ */
+@Value
+@Builder
+public class BeerQuery {
+
+    public enum SortOrder {
+        /**
+         * By name, then id; used for name prefix queries and unfiltered listings.
+         */
+        NAME,
+        /**
+         * By upc, then id; used for upc range queries.
+         */
+        UPC,
+        /**
+         * By id; used for style-only queries.
+         */
+        ID
+    }
+
+    BeerStyleEnum beerStyle;
+    String namePrefix;
+    Long upcFrom;
+    Long upcTo;
+
+    public BeerQuery(BeerStyleEnum beerStyle, String namePrefix, Long upcFrom, Long upcTo) {
+        if (upcFrom != null && upcTo != null && upcFrom > upcTo) {
+            throw new InvalidQueryException("upcFrom " + upcFrom + " is greater than upcTo " + upcTo);
+        }
+        this.beerStyle = beerStyle;
+        this.namePrefix = namePrefix;
+        this.upcFrom = upcFrom;
+        this.upcTo = upcTo;
+    }
+
+    public SortOrder getSortOrder() {
+        if (namePrefix != null) {
+            return SortOrder.NAME;
+        }
+        if (upcFrom != null || upcTo != null) {
+            return SortOrder.UPC;
+        }
+        return beerStyle != null ? SortOrder.ID : SortOrder.NAME;
+    }
+
+    /**
+     * Whether {@code beer} passes every criterion and has a value for the sort key.
+     */
+    public boolean matches(Beer beer) {
+        String name = beer.getBeerName();
+        Long upc = beer.getUpc();
+        SortOrder order = getSortOrder();
+        if (order == SortOrder.NAME && name == null || order == SortOrder.UPC && upc == null) {
+            return false;
+        }
+        return (beerStyle == null || beerStyle == beer.getBeerStyle())
+                && (namePrefix == null || name != null && name.startsWith(namePrefix))
+                && (upcFrom == null || upc != null && upc >= upcFrom)
+                && (upcTo == null || upc != null && upc <= upcTo);
+    }
+}
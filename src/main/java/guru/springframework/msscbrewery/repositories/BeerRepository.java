@@ -0,0 +1,112 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Storage for {@link Beer} entities, keyed by id with secondary lookups on upc and style.
+ * <p>
+ * Entities handed to {@link #save(Beer)} are owned by the repository afterwards and must not be mutated by callers.
+ */
+public interface BeerRepository {
+    Optional<Beer> findById(UUID id);
+
+    /**
+     * Resolves {@code ids} in one pass: one entry per id in the same order, {@code null} where there is no beer.
+     */
+    default List<Beer> findAllById(List<UUID> ids) {
+        List<Beer> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            found.add(findById(id).orElse(null));
+        }
+        return found;
+    }
+
+    List<Beer> findByUpc(Long upc);
+
+    List<Beer> findByBeerStyle(BeerStyleEnum beerStyle);
+
+    /**
+     * Returns up to {@code limit} beers matching {@code query} that sort strictly after {@code after}
+     * (from the start when {@code after} is null), in the query's {@link BeerQuery#getSortOrder() sort order}.
+     * <p>
+     * This default scans and sorts the whole store; implementations with ordered indexes override it.
+     */
+    default List<Beer> findPage(BeerQuery query, BeerSortKey after, int limit) {
+        BeerQuery.SortOrder order = query.getSortOrder();
+        try (Stream<Beer> beers = streamAll()) {
+            return beers
+                    .filter(query::matches)
+                    .filter(beer -> after == null || BeerSortKey.of(beer, order).compareTo(after) > 0)
+                    .sorted(Comparator.<Beer, BeerSortKey>comparing(beer -> BeerSortKey.of(beer, order)))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    default Beer save(Beer beer) {
+        return save(beer, null);
+    }
+
+    /**
+     * Saves {@code beer} and assigns it the next version.
+     *
+     * @param expectedVersion when not null, the save only happens if the stored beer is at this version
+     * @throws StaleVersionException if {@code expectedVersion} does not match
+     */
+    Beer save(Beer beer, Long expectedVersion);
+
+    /**
+     * Replaces a stored beer with {@code replacement} applied to it, in one step with the existence and version
+     * check, and assigns it the next version. A beer deleted concurrently is therefore never written back.
+     *
+     * @param replacement given the stored beer, returns the beer to save in its place under the same id
+     * @param expectedVersion when not null, the replace only happens if the stored beer is at this version
+     * @return the saved beer, or empty if there was no such beer and no version was expected
+     * @throws StaleVersionException if {@code expectedVersion} does not match
+     */
+    Optional<Beer> replace(UUID id, UnaryOperator<Beer> replacement, Long expectedVersion);
+
+    /**
+     * Saves all beers, waiting for durability once for the whole batch rather than per beer.
+     */
+    List<Beer> saveAll(List<Beer> beers);
+
+    default boolean deleteById(UUID id) {
+        return deleteById(id, null);
+    }
+
+    /**
+     * @param expectedVersion when not null, the delete only happens if the stored beer is at this version
+     * @return false if there was no such beer and no version was expected
+     * @throws StaleVersionException if {@code expectedVersion} does not match
+     */
+    boolean deleteById(UUID id, Long expectedVersion);
+
+    long count();
+
+    /**
+     * Lazily walks every beer. The stream is weakly consistent: it never fails because of concurrent writes and
+     * may or may not reflect changes made after it was opened.
+     */
+    Stream<Beer> streamAll();
+
+    /**
+     * Puts a beer back without journaling it; used when rebuilding state at startup.
+     */
+    void restore(Beer beer);
+
+    /**
+     * Drops a beer without journaling it; used when rebuilding state at startup.
+     */
+    void evict(UUID id);
+}
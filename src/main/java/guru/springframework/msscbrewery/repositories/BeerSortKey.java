@@ -0,0 +1,41 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position of a beer within a listing of a given {@link BeerQuery.SortOrder}; only the components used by that
+ * order are set. Listings resume strictly after a key, which keeps paging stable while beers are added or
+ * removed.
+ */
+@Value
+public class BeerSortKey implements Comparable<BeerSortKey> {
+
+    private static final Comparator<BeerSortKey> ORDER = Comparator
+            .comparing(BeerSortKey::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(BeerSortKey::getUpc, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .thenComparing(BeerSortKey::getId);
+
+    String name;
+    Long upc;
+    UUID id;
+
+    public static BeerSortKey of(Beer beer, BeerQuery.SortOrder order) {
+        switch (order) {
+            case NAME:
+                return new BeerSortKey(beer.getBeerName(), null, beer.getId());
+            case UPC:
+                return new BeerSortKey(null, beer.getUpc(), beer.getId());
+            default:
+                return new BeerSortKey(null, null, beer.getId());
+        }
+    }
+
+    @Override
+    public int compareTo(BeerSortKey other) {
+        return ORDER.compare(this, other);
+    }
+}
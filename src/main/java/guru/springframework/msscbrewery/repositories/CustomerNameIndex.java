@@ -0,0 +1,151 @@
+package guru.springframework.msscbrewery.repositories;
+
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * Case-insensitive name index for customers, maintained incrementally by {@link InMemoryCustomerRepository}.
+ * <ul>
+ * <li>Prefix: an ordered skip list keyed by every word suffix of the lower-cased name ("joe buck" and "buck"),
+ * so a type-ahead on either the first or a later name seeks straight to its range.</li>
+ * <li>Substring: a trigram posting list per three-character window, trigrams packed into a {@code long}. A
+ * query walks the smallest posting list of its trigrams and verifies candidates against the name.</li>
+ * </ul>
+ * Updates are serialized by the index, which lets a posting set that becomes empty be dropped together with
+ * its key without racing an update that adds to it; otherwise keys of old names would pile up under rename
+ * churn. Lookups do not lock: they may run concurrently with updates and see either state of a name being
+ * changed.
+ */
+class CustomerNameIndex {
+
+    static final int GRAM = 3;
+
+    private final ConcurrentSkipListMap<String, NavigableSet<UUID>> words = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Long, Set<UUID>> trigrams = new ConcurrentHashMap<>();
+
+    static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    synchronized void add(UUID id, String name) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return;
+        }
+        for (int start = 0; start >= 0; start = nextWord(normalized, start)) {
+            words.computeIfAbsent(normalized.substring(start), key -> new ConcurrentSkipListSet<>()).add(id);
+        }
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            trigrams.computeIfAbsent(trigram(normalized, i), key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    synchronized void remove(UUID id, String name) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return;
+        }
+        for (int start = 0; start >= 0; start = nextWord(normalized, start)) {
+            removeFrom(words, normalized.substring(start), id);
+        }
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            removeFrom(trigrams, trigram(normalized, i), id);
+        }
+    }
+
+    /**
+     * Number of distinct word suffixes and trigrams currently indexed.
+     */
+    int keyCount() {
+        return words.size() + trigrams.size();
+    }
+
+    private static <K> void removeFrom(ConcurrentMap<K, ? extends Set<UUID>> index, K key, UUID id) {
+        Set<UUID> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key, ids);
+        }
+    }
+
+    /**
+     * Ids whose name or one of its later words starts with {@code prefix}, until {@code accept} returns false.
+     * Ids come in order of the matched part, from the matched word to the end of the name, so for "buck"
+     * "Joe Buck" comes before "Jane Bucket"; an id may come more than once.
+     */
+    void forEachPrefix(String prefix, Predicate<UUID> accept) {
+        String normalized = normalize(prefix);
+        for (NavigableSet<UUID> ids : words.subMap(normalized, true, normalized + Character.MAX_VALUE, false)
+                .values()) {
+            for (UUID id : ids) {
+                if (!accept.test(id)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Candidate ids for a substring of at least {@link #GRAM} characters: a superset of the matches, to be
+     * verified against the stored name.
+     */
+    Set<UUID> candidates(String fragment) {
+        String normalized = normalize(fragment);
+        Set<UUID> smallest = null;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            Set<UUID> ids = trigrams.get(trigram(normalized, i));
+            if (ids == null) {
+                return Set.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest == null ? Set.of() : smallest;
+    }
+
+    /**
+     * Whether the name or one of its later words starts with {@code prefix}, ignoring case.
+     */
+    static boolean matchesPrefix(String name, String prefix) {
+        if (name == null) {
+            return false;
+        }
+        for (int start = 0; start >= 0; start = nextWord(name, start)) {
+            if (name.regionMatches(true, start, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean contains(String name, String fragment) {
+        if (name == null) {
+            return false;
+        }
+        for (int i = 0; i + fragment.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextWord(String name, int start) {
+        int space = name.indexOf(' ', start);
+        while (space >= 0 && space + 1 < name.length() && name.charAt(space + 1) == ' ') {
+            space++;
+        }
+        return space < 0 || space + 1 >= name.length() ? -1 : space + 1;
+    }
+
+    private static long trigram(String name, int offset) {
+        return ((long) name.charAt(offset) << 32) | ((long) name.charAt(offset + 1) << 16) | name.charAt(offset + 2);
+    }
+}
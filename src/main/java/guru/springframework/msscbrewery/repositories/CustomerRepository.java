@@ -0,0 +1,54 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Customer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage for {@link Customer} entities.
+ * <p>
+ * Entities handed to {@link #save(Customer)} are owned by the repository afterwards and must not be mutated by
+ * callers.
+ */
+public interface CustomerRepository {
+    Optional<Customer> findById(UUID id);
+
+    Customer save(Customer customer);
+
+    /**
+     * Saves {@code customer} only if a customer with its id is stored, checking and writing in one step so that
+     * a concurrent delete is never undone.
+     *
+     * @return the saved customer, or empty if there was no such customer
+     */
+    Optional<Customer> replace(Customer customer);
+
+    boolean deleteById(UUID id);
+
+    long count();
+
+    /**
+     * Customers whose name, or a later word of it, starts with {@code prefix} ignoring case. They are ordered by
+     * the matched part of the name, from the matched word on, not by full name: for "buck", "Joe Buck" comes
+     * before "Jane Bucket". The first {@code limit} in that order are returned.
+     */
+    List<Customer> findByNamePrefix(String prefix, int limit);
+
+    /**
+     * Customers whose name contains {@code fragment} ignoring case, in name order. At most {@code limit} matches
+     * are collected before sorting, so with more matches than that the result is some of them, not the first.
+     */
+    List<Customer> findByNameContaining(String fragment, int limit);
+
+    /**
+     * Puts a customer back without journaling it; used when rebuilding state at startup.
+     */
+    void restore(Customer customer);
+
+    /**
+     * Drops a customer without journaling it; used when rebuilding state at startup.
+     */
+    void evict(UUID id);
+}
@@ -0,0 +1,338 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Heap backed {@link BeerRepository}.
+ * <p>
+ * Reads are plain {@link ConcurrentHashMap} lookups and never block. Writes go through
+ * {@link ConcurrentHashMap#compute} on the primary key, so updates of the same beer are serialized while
+ * writes to different beers proceed in parallel; the secondary indexes are maintained inside that critical
+ * section. Index readers re-check every hit against the current entity, so a lookup racing a write never
+ * returns a beer that no longer matches. Changes are reported to the {@link WriteJournal} from within the same
+ * critical section and awaited after it.
+ * <p>
+ * The name and upc indexes are ordered skip lists of id sets, which lets {@link #findPage} seek straight to a
+ * cursor position instead of scanning. Index entries whose id set became empty are kept, because a skip list
+ * cannot atomically drop an entry a concurrent writer may be adding to.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "brewery.storage", name = "mode", havingValue = "heap", matchIfMissing = true)
+public class InMemoryBeerRepository implements BeerRepository {
+
+    public static final String ENTITY = "beer";
+
+    private final ConcurrentMap<UUID, Beer> beers = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, NavigableSet<UUID>> nameIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, NavigableSet<UUID>> upcIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<BeerStyleEnum, NavigableSet<UUID>> styleIndex = new ConcurrentHashMap<>();
+    private final WriteJournal journal;
+
+    public InMemoryBeerRepository() {
+        this(WriteJournal.NONE);
+    }
+
+    public InMemoryBeerRepository(WriteJournal journal) {
+        this.journal = journal;
+        for (BeerStyleEnum style : BeerStyleEnum.values()) {
+            styleIndex.put(style, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Autowired
+    public InMemoryBeerRepository(ObjectProvider<WriteJournal> journal) {
+        this(journal.getIfAvailable(() -> WriteJournal.NONE));
+    }
+
+    @Override
+    public Optional<Beer> findById(UUID id) {
+        return Optional.ofNullable(beers.get(id));
+    }
+
+    @Override
+    public List<Beer> findAllById(List<UUID> ids) {
+        List<Beer> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            found.add(beers.get(id));
+        }
+        return found;
+    }
+
+    @Override
+    public List<Beer> findByUpc(Long upc) {
+        if (upc == null) {
+            return Collections.emptyList();
+        }
+        List<Beer> found = resolve(upcIndex.get(upc));
+        found.removeIf(beer -> !upc.equals(beer.getUpc()));
+        return found;
+    }
+
+    @Override
+    public List<Beer> findByBeerStyle(BeerStyleEnum beerStyle) {
+        if (beerStyle == null) {
+            return Collections.emptyList();
+        }
+        List<Beer> found = resolve(styleIndex.get(beerStyle));
+        found.removeIf(beer -> beerStyle != beer.getBeerStyle());
+        return found;
+    }
+
+    @Override
+    public List<Beer> findPage(BeerQuery query, BeerSortKey after, int limit) {
+        List<Beer> page = new ArrayList<>(limit);
+        switch (query.getSortOrder()) {
+            case NAME:
+                NavigableMap<String, NavigableSet<UUID>> names = nameIndex;
+                if (query.getNamePrefix() != null) {
+                    names = nameIndex.subMap(query.getNamePrefix(), true,
+                            query.getNamePrefix() + Character.MAX_VALUE, false);
+                }
+                collect(names, after == null ? null : after.getName(), after, Beer::getBeerName, query, page, limit);
+                break;
+            case UPC:
+                NavigableMap<Long, NavigableSet<UUID>> upcs = upcIndex;
+                if (query.getUpcFrom() != null) {
+                    upcs = upcs.tailMap(query.getUpcFrom(), true);
+                }
+                if (query.getUpcTo() != null) {
+                    upcs = upcs.headMap(query.getUpcTo(), true);
+                }
+                collect(upcs, after == null ? null : after.getUpc(), after, Beer::getUpc, query, page, limit);
+                break;
+            default:
+                NavigableSet<UUID> ids = styleIndex.get(query.getBeerStyle());
+                collect(after == null ? ids : ids.tailSet(after.getId(), false), query, page, limit);
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<Beer> streamAll() {
+        return beers.values().stream();
+    }
+
+    @Override
+    public Beer save(Beer beer, Long expectedVersion) {
+        put(beer, expectedVersion).await();
+        return beer;
+    }
+
+    @Override
+    public Optional<Beer> replace(UUID id, UnaryOperator<Beer> replacement, Long expectedVersion) {
+        WriteJournal.Commit[] commit = new WriteJournal.Commit[1];
+        Beer saved = beers.computeIfPresent(id, (key, previous) -> {
+            checkVersion(key, previous, expectedVersion);
+            Beer beer = replacement.apply(previous);
+            beer.setVersion(previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+            commit[0] = journal.recordSave(ENTITY, key, beer);
+            reindex(previous, beer);
+            return beer;
+        });
+        if (saved == null) {
+            checkVersion(id, null, expectedVersion);
+            return Optional.empty();
+        }
+        commit[0].await();
+        return Optional.of(saved);
+    }
+
+    @Override
+    public List<Beer> saveAll(List<Beer> batch) {
+        WriteJournal.Commit last = WriteJournal.Commit.DONE;
+        for (Beer beer : batch) {
+            last = put(beer, null);
+        }
+        // the journal flushes in order, so the last commit being durable implies the earlier ones are
+        last.await();
+        return batch;
+    }
+
+    @Override
+    public boolean deleteById(UUID id, Long expectedVersion) {
+        WriteJournal.Commit[] commit = new WriteJournal.Commit[1];
+        beers.computeIfPresent(id, (key, previous) -> {
+            checkVersion(key, previous, expectedVersion);
+            commit[0] = journal.recordDelete(ENTITY, key);
+            unindex(previous);
+            return null;
+        });
+        if (commit[0] == null) {
+            checkVersion(id, null, expectedVersion);
+            return false;
+        }
+        commit[0].await();
+        return true;
+    }
+
+    private WriteJournal.Commit put(Beer beer, Long expectedVersion) {
+        Objects.requireNonNull(beer.getId(), "beer id");
+        WriteJournal.Commit[] commit = {WriteJournal.Commit.DONE};
+        beers.compute(beer.getId(), (id, previous) -> {
+            checkVersion(id, previous, expectedVersion);
+            beer.setVersion(previous == null || previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+            commit[0] = journal.recordSave(ENTITY, id, beer);
+            reindex(previous, beer);
+            return beer;
+        });
+        return commit[0];
+    }
+
+    @Override
+    public void restore(Beer beer) {
+        beers.compute(beer.getId(), (id, previous) -> {
+            reindex(previous, beer);
+            return beer;
+        });
+    }
+
+    @Override
+    public void evict(UUID id) {
+        beers.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            return null;
+        });
+    }
+
+    @Override
+    public long count() {
+        return beers.size();
+    }
+
+    private static void checkVersion(UUID id, Beer current, Long expectedVersion) {
+        if (expectedVersion != null && (current == null || !expectedVersion.equals(current.getVersion()))) {
+            throw new StaleVersionException(id, expectedVersion);
+        }
+    }
+
+    private List<Beer> resolve(Set<UUID> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Beer> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Beer beer = beers.get(id);
+            if (beer != null) {
+                found.add(beer);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Walks {@code index} from the cursor position, skipping ids whose beer has since moved to another key.
+     */
+    private <K extends Comparable<K>> void collect(NavigableMap<K, NavigableSet<UUID>> index, K afterKey,
+                                                   BeerSortKey after, Function<Beer, K> keyOf, BeerQuery query,
+                                                   List<Beer> page, int limit) {
+        NavigableMap<K, NavigableSet<UUID>> tail = after == null ? index : resume(index, afterKey);
+        for (Map.Entry<K, NavigableSet<UUID>> entry : tail.entrySet()) {
+            NavigableSet<UUID> ids = entry.getValue();
+            if (after != null && entry.getKey().equals(afterKey)) {
+                ids = ids.tailSet(after.getId(), false);
+            }
+            for (UUID id : ids) {
+                Beer beer = beers.get(id);
+                if (beer != null && entry.getKey().equals(keyOf.apply(beer)) && query.matches(beer)) {
+                    page.add(beer);
+                    if (page.size() == limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The part of {@code index} from {@code afterKey} on. The index may be a range view of the filter, and a
+     * cursor key outside that range would make {@code tailMap} throw, so such a key resumes before the first
+     * entry or after the last one instead.
+     */
+    private static <K extends Comparable<K>> NavigableMap<K, NavigableSet<UUID>> resume(
+            NavigableMap<K, NavigableSet<UUID>> index, K afterKey) {
+        if (index.isEmpty() || afterKey.compareTo(index.firstKey()) < 0) {
+            return index;
+        }
+        if (afterKey.compareTo(index.lastKey()) > 0) {
+            return Collections.emptyNavigableMap();
+        }
+        return index.tailMap(afterKey, true);
+    }
+
+    private void collect(NavigableSet<UUID> ids, BeerQuery query, List<Beer> page, int limit) {
+        for (UUID id : ids) {
+            Beer beer = beers.get(id);
+            if (beer != null && query.matches(beer)) {
+                page.add(beer);
+                if (page.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void reindex(Beer previous, Beer beer) {
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(beer);
+    }
+
+    private void index(Beer beer) {
+        if (beer.getBeerName() != null) {
+            addToIndex(nameIndex, beer.getBeerName(), beer.getId());
+        }
+        if (beer.getUpc() != null) {
+            addToIndex(upcIndex, beer.getUpc(), beer.getId());
+        }
+        if (beer.getBeerStyle() != null) {
+            addToIndex(styleIndex, beer.getBeerStyle(), beer.getId());
+        }
+    }
+
+    private void unindex(Beer beer) {
+        if (beer.getBeerName() != null) {
+            removeFromIndex(nameIndex, beer.getBeerName(), beer.getId());
+        }
+        if (beer.getUpc() != null) {
+            removeFromIndex(upcIndex, beer.getUpc(), beer.getId());
+        }
+        if (beer.getBeerStyle() != null) {
+            removeFromIndex(styleIndex, beer.getBeerStyle(), beer.getId());
+        }
+    }
+
+    private static <K> void addToIndex(ConcurrentMap<K, NavigableSet<UUID>> index, K key, UUID id) {
+        index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+    }
+
+    private static <K> void removeFromIndex(ConcurrentMap<K, NavigableSet<UUID>> index, K key, UUID id) {
+        NavigableSet<UUID> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+}
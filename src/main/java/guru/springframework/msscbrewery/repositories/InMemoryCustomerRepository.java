@@ -0,0 +1,162 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Customer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Heap backed {@link CustomerRepository}; same locking scheme as {@link InMemoryBeerRepository}. Names are
+ * indexed for prefix and substring search by a {@link CustomerNameIndex} updated inside the per-id compute.
+ */
+@Repository
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+    public static final String ENTITY = "customer";
+
+    private static final Comparator<Customer> BY_NAME =
+            Comparator.comparing(Customer::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final ConcurrentMap<UUID, Customer> customers = new ConcurrentHashMap<>();
+    private final CustomerNameIndex nameIndex = new CustomerNameIndex();
+    private final WriteJournal journal;
+
+    public InMemoryCustomerRepository() {
+        this(WriteJournal.NONE);
+    }
+
+    public InMemoryCustomerRepository(WriteJournal journal) {
+        this.journal = journal;
+    }
+
+    @Autowired
+    public InMemoryCustomerRepository(ObjectProvider<WriteJournal> journal) {
+        this(journal.getIfAvailable(() -> WriteJournal.NONE));
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        return Optional.ofNullable(customers.get(id));
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        Objects.requireNonNull(customer.getId(), "customer id");
+        WriteJournal.Commit[] commit = {WriteJournal.Commit.DONE};
+        customers.compute(customer.getId(), (id, previous) -> {
+            commit[0] = journal.recordSave(ENTITY, id, customer);
+            reindex(previous, customer);
+            return customer;
+        });
+        commit[0].await();
+        return customer;
+    }
+
+    @Override
+    public Optional<Customer> replace(Customer customer) {
+        Objects.requireNonNull(customer.getId(), "customer id");
+        WriteJournal.Commit[] commit = new WriteJournal.Commit[1];
+        customers.computeIfPresent(customer.getId(), (id, previous) -> {
+            commit[0] = journal.recordSave(ENTITY, id, customer);
+            reindex(previous, customer);
+            return customer;
+        });
+        if (commit[0] == null) {
+            return Optional.empty();
+        }
+        commit[0].await();
+        return Optional.of(customer);
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        WriteJournal.Commit[] commit = new WriteJournal.Commit[1];
+        customers.computeIfPresent(id, (key, previous) -> {
+            commit[0] = journal.recordDelete(ENTITY, key);
+            reindex(previous, null);
+            return null;
+        });
+        if (commit[0] == null) {
+            return false;
+        }
+        commit[0].await();
+        return true;
+    }
+
+    @Override
+    public long count() {
+        return customers.size();
+    }
+
+    @Override
+    public List<Customer> findByNamePrefix(String prefix, int limit) {
+        Map<UUID, Customer> found = new LinkedHashMap<>();
+        nameIndex.forEachPrefix(prefix, id -> {
+            Customer customer = customers.get(id);
+            // the index may briefly hold a name that is being replaced
+            if (customer != null && CustomerNameIndex.matchesPrefix(customer.getName(), prefix)) {
+                found.putIfAbsent(id, customer);
+            }
+            return found.size() < limit;
+        });
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public List<Customer> findByNameContaining(String fragment, int limit) {
+        if (fragment.length() < CustomerNameIndex.GRAM) {
+            return findByNamePrefix(fragment, limit);
+        }
+        List<Customer> found = new ArrayList<>();
+        for (UUID id : nameIndex.candidates(fragment)) {
+            Customer customer = customers.get(id);
+            if (customer != null && CustomerNameIndex.contains(customer.getName(), fragment)) {
+                found.add(customer);
+                if (found.size() == limit) {
+                    break;
+                }
+            }
+        }
+        found.sort(BY_NAME);
+        return found;
+    }
+
+    @Override
+    public void restore(Customer customer) {
+        customers.compute(customer.getId(), (id, previous) -> {
+            reindex(previous, customer);
+            return customer;
+        });
+    }
+
+    @Override
+    public void evict(UUID id) {
+        customers.computeIfPresent(id, (key, previous) -> {
+            reindex(previous, null);
+            return null;
+        });
+    }
+
+    private void reindex(Customer previous, Customer current) {
+        if (previous != null && current != null && Objects.equals(previous.getName(), current.getName())) {
+            return;
+        }
+        if (previous != null) {
+            nameIndex.remove(previous.getId(), previous.getName());
+        }
+        if (current != null) {
+            nameIndex.add(current.getId(), current.getName());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package guru.springframework.msscbrewery.repositories;
+
+/**
+ * Thrown for a {@link BeerQuery} whose criteria contradict each other, such as an inverted upc range.
+ */
+public class InvalidQueryException extends IllegalArgumentException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
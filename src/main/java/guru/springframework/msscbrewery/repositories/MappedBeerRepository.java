@@ -0,0 +1,648 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Off-heap {@link BeerRepository} that keeps every beer as a fixed-width record in a memory-mapped file.
+ * <p>
+ * Record layout ({@value #RECORD_BYTES} bytes): id as two longs, upc, created and last updated date as epoch
+ * millis, a reference into the name arena (int offset, int length), the {@link BeerStyleEnum} ordinal, a
+ * status byte and the version. Unset numbers are stored as {@link Long#MIN_VALUE}, an unset style as -1. Names live in a second
+ * mapped file, an append-only arena in which identical names are stored once.
+ * <p>
+ * The only heap state is a primitive open-addressing table from id to record slot and a table of interned
+ * names, both rebuilt by one scan of the mapped files at startup. Readers decode straight from the mapping
+ * under an optimistic {@link StampedLock} read and retry if a writer got in between; writers are serialized.
+ * Lookups by upc and style, and every {@link #findPage page}, scan the records sequentially.
+ */
+@Slf4j
+public class MappedBeerRepository implements BeerRepository, Closeable {
+
+    static final int RECORD_BYTES = 64;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC = 0x42454552;
+
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int UPC = 16;
+    private static final int CREATED = 24;
+    private static final int UPDATED = 32;
+    private static final int NAME_OFFSET = 40;
+    private static final int NAME_LENGTH = 44;
+    private static final int STYLE = 48;
+    private static final int STATUS = 49;
+    private static final int VERSION = 56;
+
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+
+    private static final int EMPTY = -1;
+    private static final int TOMBSTONE = -2;
+    private static final long NONE = Long.MIN_VALUE;
+    private static final BeerStyleEnum[] STYLES = BeerStyleEnum.values();
+
+    private final FileChannel recordChannel;
+    private final FileChannel arenaChannel;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer arena;
+    private final int capacity;
+    private final int[] slots;
+    private final long[] names;
+    private final StampedLock lock = new StampedLock();
+
+    private int recordCount;
+    private int liveCount;
+    private int arenaUsed;
+    private int nameCount;
+    private int tombstones;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    public MappedBeerRepository(Path directory, int capacity, int arenaBytes) throws IOException {
+        Files.createDirectories(directory);
+        this.capacity = capacity;
+        this.recordChannel = FileChannel.open(directory.resolve("beers.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.arenaChannel = FileChannel.open(directory.resolve("beer-names.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.records = recordChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_BYTES + (long) capacity * RECORD_BYTES);
+        this.arena = arenaChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) arenaBytes);
+        this.slots = new int[tableSize(capacity)];
+        this.names = new long[tableSize(capacity)];
+        Arrays.fill(slots, EMPTY);
+        load();
+    }
+
+    @Override
+    public Optional<Beer> findById(UUID id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Beer beer = decode(slotOf(id));
+                if (lock.validate(stamp)) {
+                    return Optional.ofNullable(beer);
+                }
+            } catch (RuntimeException tornRead) {
+                // a writer changed the record mid-decode; fall through and read it under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return Optional.ofNullable(decode(slotOf(id)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Decodes all ids under a single optimistic read, falling back to one read lock for the whole batch.
+     */
+    @Override
+    public List<Beer> findAllById(List<UUID> ids) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                List<Beer> found = decodeAll(ids);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException tornRead) {
+                // a writer changed a record mid-decode; fall through and read them under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return decodeAll(ids);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private List<Beer> decodeAll(List<UUID> ids) {
+        List<Beer> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            found.add(decode(slotOf(id)));
+        }
+        return found;
+    }
+
+    @Override
+    public List<Beer> findByUpc(Long upc) {
+        if (upc == null) {
+            return new ArrayList<>();
+        }
+        long value = upc;
+        return scan(position -> records.getLong(position + UPC) == value);
+    }
+
+    @Override
+    public List<Beer> findByBeerStyle(BeerStyleEnum beerStyle) {
+        if (beerStyle == null) {
+            return new ArrayList<>();
+        }
+        byte ordinal = (byte) beerStyle.ordinal();
+        return scan(position -> records.get(position + STYLE) == ordinal);
+    }
+
+    /**
+     * Walks the record slots one at a time, taking the read lock per record only, so a long export never holds
+     * writers off for more than one decode.
+     */
+    @Override
+    public Stream<Beer> streamAll() {
+        int slotCount;
+        long stamp = lock.readLock();
+        try {
+            slotCount = recordCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return IntStream.range(0, slotCount)
+                .mapToObj(this::decodeLive)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Beer save(Beer beer, Long expectedVersion) {
+        Objects.requireNonNull(beer.getId(), "beer id");
+        long stamp = lock.writeLock();
+        try {
+            checkVersion(beer.getId(), expectedVersion);
+            write(beer);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return beer;
+    }
+
+    @Override
+    public Optional<Beer> replace(UUID id, UnaryOperator<Beer> replacement, Long expectedVersion) {
+        long stamp = lock.writeLock();
+        try {
+            checkVersion(id, expectedVersion);
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            Beer beer = replacement.apply(decode(slot));
+            write(beer);
+            return Optional.of(beer);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<Beer> saveAll(List<Beer> batch) {
+        long stamp = lock.writeLock();
+        try {
+            for (Beer beer : batch) {
+                Objects.requireNonNull(beer.getId(), "beer id");
+                write(beer);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return batch;
+    }
+
+    @Override
+    public boolean deleteById(UUID id, Long expectedVersion) {
+        long stamp = lock.writeLock();
+        try {
+            checkVersion(id, expectedVersion);
+            return delete(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long count() {
+        long stamp = lock.readLock();
+        try {
+            return liveCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void restore(Beer beer) {
+        long stamp = lock.writeLock();
+        try {
+            Long journaled = beer.getVersion();
+            write(beer);
+            if (journaled != null) {
+                records.putLong(position(slotOf(beer.getId())) + VERSION, journaled);
+                beer.setVersion(journaled);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void evict(UUID id) {
+        deleteById(id);
+    }
+
+    @Override
+    public void close() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            records.force();
+            arena.force();
+            recordChannel.close();
+            arenaChannel.close();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * There is no ordered index to seek to the cursor, so every page still scans all records under the read
+     * lock; only the best {@code limit} matches are kept, in a bounded heap, which makes a page O(n log limit)
+     * instead of the full sort of the default.
+     */
+    @Override
+    public List<Beer> findPage(BeerQuery query, BeerSortKey after, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        BeerQuery.SortOrder order = query.getSortOrder();
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < recordCount; slot++) {
+                if (records.get(position(slot) + STATUS) != LIVE) {
+                    continue;
+                }
+                Beer beer = decode(slot);
+                if (!query.matches(beer)) {
+                    continue;
+                }
+                BeerSortKey key = BeerSortKey.of(beer, order);
+                if (after != null && key.compareTo(after) <= 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new Ranked(key, beer));
+                } else if (key.compareTo(best.peek().key) < 0) {
+                    best.poll();
+                    best.add(new Ranked(key, beer));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(null);
+        List<Beer> page = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            page.add(entry.beer);
+        }
+        return page;
+    }
+
+    private List<Beer> scan(IntPredicate matches) {
+        List<Beer> found = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < recordCount; slot++) {
+                int position = position(slot);
+                if (records.get(position + STATUS) == LIVE && matches.test(position)) {
+                    found.add(decode(slot));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return found;
+    }
+
+    private Beer decodeLive(int slot) {
+        long stamp = lock.readLock();
+        try {
+            return records.get(position(slot) + STATUS) == LIVE ? decode(slot) : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Beer decode(int slot) {
+        if (slot < 0) {
+            return null;
+        }
+        int position = position(slot);
+        byte style = records.get(position + STYLE);
+        return Beer.builder()
+                .id(new UUID(records.getLong(position + ID_MSB), records.getLong(position + ID_LSB)))
+                .beerName(readName(records.getInt(position + NAME_OFFSET), records.getInt(position + NAME_LENGTH)))
+                .beerStyle(style < 0 || style >= STYLES.length ? null : STYLES[style])
+                .upc(toLong(records.getLong(position + UPC)))
+                .createdDate(toEpochMillis(records.getLong(position + CREATED)))
+                .lastUpdatedDate(toEpochMillis(records.getLong(position + UPDATED)))
+                .version(records.getLong(position + VERSION))
+                .build();
+    }
+
+    private void checkVersion(UUID id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        int slot = slotOf(id);
+        if (slot < 0 || records.getLong(position(slot) + VERSION) != expectedVersion) {
+            throw new StaleVersionException(id, expectedVersion);
+        }
+    }
+
+    private void write(Beer beer) {
+        UUID id = beer.getId();
+        // intern first: a full arena must fail the write before a record slot is taken
+        long nameRef = internName(beer.getBeerName());
+        int slot = slotOf(id);
+        boolean inserted = slot < 0;
+        if (inserted) {
+            slot = allocateSlot();
+        }
+        long version = inserted ? 1 : records.getLong(position(slot) + VERSION) + 1;
+        beer.setVersion(version);
+        int position = position(slot);
+        records.putLong(position + ID_MSB, id.getMostSignificantBits());
+        records.putLong(position + ID_LSB, id.getLeastSignificantBits());
+        records.putLong(position + UPC, beer.getUpc() != null ? beer.getUpc() : NONE);
+        records.putLong(position + CREATED, beer.getCreatedDate());
+        records.putLong(position + UPDATED, beer.getLastUpdatedDate());
+        records.putInt(position + NAME_OFFSET, (int) (nameRef >>> 32));
+        records.putInt(position + NAME_LENGTH, (int) nameRef);
+        records.put(position + STYLE, beer.getBeerStyle() != null ? (byte) beer.getBeerStyle().ordinal() : -1);
+        records.putLong(position + VERSION, version);
+        records.put(position + STATUS, LIVE);
+        if (inserted) {
+            insertSlot(id, slot);
+            liveCount++;
+        }
+    }
+
+    private boolean delete(UUID id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        int slot = slots[index];
+        records.put(position(slot) + STATUS, DELETED);
+        slots[index] = TOMBSTONE;
+        pushFree(slot);
+        liveCount--;
+        if (++tombstones > slots.length / 4) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the id table without tombstones. Inserts reuse tombstones on their probe path but still consume
+     * empty slots elsewhere, so under create/delete churn the empty slots that end a miss would otherwise run out.
+     */
+    private void rehash() {
+        int[] live = new int[liveCount];
+        int count = 0;
+        for (int slot : slots) {
+            if (slot >= 0) {
+                live[count++] = slot;
+            }
+        }
+        Arrays.fill(slots, EMPTY);
+        tombstones = 0;
+        for (int i = 0; i < count; i++) {
+            int position = position(live[i]);
+            insertSlot(new UUID(records.getLong(position + ID_MSB), records.getLong(position + ID_LSB)), live[i]);
+        }
+    }
+
+    private void load() {
+        if (records.getInt(0) != MAGIC) {
+            records.putInt(0, MAGIC);
+            records.putInt(4, 0);
+            arena.putInt(0, MAGIC);
+            arena.putInt(4, 0);
+        }
+        recordCount = records.getInt(4);
+        arenaUsed = arena.getInt(4);
+        for (int slot = 0; slot < recordCount; slot++) {
+            int position = position(slot);
+            if (records.get(position + STATUS) == LIVE) {
+                insertSlot(new UUID(records.getLong(position + ID_MSB), records.getLong(position + ID_LSB)), slot);
+                int offset = records.getInt(position + NAME_OFFSET);
+                int length = records.getInt(position + NAME_LENGTH);
+                if (offset >= 0) {
+                    rememberName(hashName(offset, length), offset, length);
+                }
+                liveCount++;
+            } else {
+                pushFree(slot);
+            }
+        }
+        log.info("Mapped {} beer record(s), {} name bytes", liveCount, arenaUsed);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (recordCount == capacity) {
+            throw new IllegalStateException("Mapped beer store is full (" + capacity + " records)");
+        }
+        int slot = recordCount++;
+        records.putInt(4, recordCount);
+        return slot;
+    }
+
+    private void pushFree(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int slotOf(UUID id) {
+        int index = indexOf(id);
+        return index < 0 ? -1 : slots[index];
+    }
+
+    private int indexOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        for (int index = mix(msb ^ lsb) & mask, probes = 0; probes < slots.length; index = (index + 1) & mask, probes++) {
+            int slot = slots[index];
+            if (slot == EMPTY) {
+                return -1;
+            }
+            if (slot >= 0) {
+                int position = position(slot);
+                if (records.getLong(position + ID_MSB) == msb && records.getLong(position + ID_LSB) == lsb) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void insertSlot(UUID id, int slot) {
+        int mask = slots.length - 1;
+        int index = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits()) & mask;
+        while (slots[index] >= 0) {
+            index = (index + 1) & mask;
+        }
+        if (slots[index] == TOMBSTONE) {
+            tombstones--;
+        }
+        slots[index] = slot;
+    }
+
+    /**
+     * Returns {@code offset << 32 | length} of {@code name} in the arena, appending it if it is not there yet.
+     */
+    private long internName(String name) {
+        if (name == null) {
+            return -1L << 32;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int hash = mix(Arrays.hashCode(bytes));
+        int mask = names.length - 1;
+        for (int index = hash & mask; names[index] != 0; index = (index + 1) & mask) {
+            long ref = names[index] - 1;
+            if (nameEquals((int) (ref >>> 32), (int) ref, bytes)) {
+                return ref;
+            }
+        }
+        if (HEADER_BYTES + arenaUsed + bytes.length > arena.capacity()) {
+            throw new IllegalStateException("Mapped beer name arena is full");
+        }
+        int offset = arenaUsed;
+        for (int i = 0; i < bytes.length; i++) {
+            arena.put(HEADER_BYTES + offset + i, bytes[i]);
+        }
+        arenaUsed += bytes.length;
+        arena.putInt(4, arenaUsed);
+        return rememberName(hash, offset, bytes.length);
+    }
+
+    private long rememberName(int hash, int offset, int length) {
+        long ref = (long) offset << 32 | length;
+        if (nameCount >= names.length / 2) {
+            // table is saturated by names of updated or deleted beers; store further names without interning
+            return ref;
+        }
+        int mask = names.length - 1;
+        int index = hash & mask;
+        while (names[index] != 0) {
+            if (names[index] - 1 == ref) {
+                return ref;
+            }
+            index = (index + 1) & mask;
+        }
+        names[index] = ref + 1;
+        nameCount++;
+        return ref;
+    }
+
+    private int hashName(int offset, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + arena.get(HEADER_BYTES + offset + i);
+        }
+        return mix(hash);
+    }
+
+    private boolean nameEquals(int offset, int length, byte[] bytes) {
+        if (length != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (arena.get(HEADER_BYTES + offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readName(int offset, int length) {
+        if (offset < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = arena.get(HEADER_BYTES + offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int position(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+
+    private static Long toLong(long value) {
+        return value == NONE ? null : value;
+    }
+
+    /**
+     * Records written before the domain carried primitive dates hold {@link #NONE} for an unset date.
+     */
+    private static long toEpochMillis(long stored) {
+        return stored == NONE ? 0 : stored;
+    }
+
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) << 1;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Ranked implements Comparable<Ranked> {
+
+        final BeerSortKey key;
+        final Beer beer;
+
+        Ranked(BeerSortKey key, Beer beer) {
+            this.key = key;
+            this.beer = beer;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package guru.springframework.msscbrewery.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Replaces the heap beer store with {@link MappedBeerRepository} when {@code brewery.storage.mode=mapped}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "brewery.storage", name = "mode", havingValue = "mapped")
+public class MappedStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedBeerRepository beerRepository(
+            @Value("${brewery.storage.mapped.directory:data/mapped}") String directory,
+            @Value("${brewery.storage.mapped.capacity:1000000}") int capacity,
+            @Value("${brewery.storage.mapped.arena-bytes:67108864}") int arenaBytes) throws IOException {
+        return new MappedBeerRepository(Paths.get(directory), capacity, arenaBytes);
+    }
+}
@@ -0,0 +1,17 @@
+package guru.springframework.msscbrewery.repositories;
+
+import java.util.UUID;
+
+/**
+ * Thrown by conditional writes when the stored entity is missing or no longer at the expected version.
+ */
+public class StaleVersionException extends RuntimeException {
+
+    public StaleVersionException(UUID id, long expectedVersion) {
+        super("Entity " + id + " is not at version " + expectedVersion);
+    }
+
+    public StaleVersionException(UUID id, String precondition) {
+        super("Entity " + id + " does not match " + precondition);
+    }
+}
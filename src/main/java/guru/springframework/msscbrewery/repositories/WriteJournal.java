@@ -0,0 +1,39 @@
+package guru.springframework.msscbrewery.repositories;
+
+import java.util.UUID;
+
+/**
+ * Hook through which repositories report every change so it can be made durable.
+ * <p>
+ * Repositories call {@code recordSave}/{@code recordDelete} while they hold the per-entity write lock, so the
+ * journal sees changes to one entity in the order they were applied, and call {@link Commit#await()} after
+ * releasing it.
+ */
+public interface WriteJournal {
+
+    WriteJournal NONE = new WriteJournal() {
+        @Override
+        public Commit recordSave(String entity, UUID id, Object state) {
+            return Commit.DONE;
+        }
+
+        @Override
+        public Commit recordDelete(String entity, UUID id) {
+            return Commit.DONE;
+        }
+    };
+
+    Commit recordSave(String entity, UUID id, Object state);
+
+    Commit recordDelete(String entity, UUID id);
+
+    interface Commit {
+        Commit DONE = () -> {
+        };
+
+        /**
+         * Blocks until the change is durable.
+         */
+        void await();
+    }
+}
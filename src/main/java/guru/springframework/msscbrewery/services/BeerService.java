@@ -2,9 +2,12 @@ package guru.springframework.msscbrewery.services;
 
 import guru.springframework.msscbrewery.web.model.BeerDto;
 import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BindException;
 
-import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Created by jt on 2019-04-20.
@@ -12,11 +15,36 @@ import java.util.UUID;
 public interface BeerService {
     BeerDto getBeerById(UUID beerId);
 
+    /**
+     * One entry per id in the same order, {@code null} where there is no such beer.
+     */
+    List<BeerDto> getBeersByIds(List<UUID> beerIds);
+
+    /**
+     * Version and last update time of a beer, without mapping it; empty when the beer does not exist.
+     */
+    Optional<BeerStamp> getBeerStamp(UUID beerId);
+
+    /**
+     * Lazily maps the whole catalog; callers must close the stream.
+     */
+    Stream<BeerDto> listBeers();
+
     BeerDto saveNewBeer(BeerDto beerDto);
 
+    List<BeerDto> saveNewBeers(List<BeerDto> beerDtos);
+
     BeerDto updateBeer(UUID beerId, BeerDto beerDto);
 
+    /**
+     * Updates the beer only if it is still at {@code expectedVersion}, otherwise throws
+     * {@link guru.springframework.msscbrewery.repositories.StaleVersionException}.
+     */
+    BeerDto updateBeer(UUID beerId, BeerDto beerDto, long expectedVersion);
+
     void deleteById(UUID id);
 
-    BeerDto saveNewBeerDtoViaForm(MultiValueMap<String, String> paramMap) throws IOException;
+    void deleteById(UUID id, long expectedVersion);
+
+    BeerDto saveNewBeerDtoViaForm(MultiValueMap<String, String> paramMap) throws BindException;
 }
@@ -1,74 +1,124 @@
 package guru.springframework.msscbrewery.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.repositories.BeerRepository;
+import guru.springframework.msscbrewery.services.batch.BeerLookupBatcher;
+import guru.springframework.msscbrewery.web.mappers.BeerFormMapper;
+import guru.springframework.msscbrewery.web.mappers.BeerMapper;
+import guru.springframework.msscbrewery.web.mappers.BulkMapper;
 import guru.springframework.msscbrewery.web.model.BeerDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BindException;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Created by jt on 2019-04-20.
  */
 @Slf4j
+@RequiredArgsConstructor
 @Service
 public class BeerServiceImpl implements BeerService {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final BeerFormMapper beerFormMapper;
+    private final BulkMapper bulkMapper;
+    private final BeerLookupBatcher beerLookupBatcher;
+
     @Override
     public BeerDto getBeerById(UUID beerId) {
-        return BeerDto.builder()
-                .id(beerId)
-                .beerName("Galaxy Cat")
-                .beerStyle("Pale Ale")
-                .build();
+        return beerLookupBatcher.findById(beerId)
+                .map(beerMapper::beerToBeerDto)
+                .orElseThrow(() -> new NotFoundException("Beer", beerId));
+    }
+
+    @Override
+    public List<BeerDto> getBeersByIds(List<UUID> beerIds) {
+        return beerMapper.beersToBeerDtos(beerRepository.findAllById(beerIds));
+    }
+
+    @Override
+    public Optional<BeerStamp> getBeerStamp(UUID beerId) {
+        return beerRepository.findById(beerId)
+                .map(beer -> new BeerStamp(beer.getVersion() != null ? beer.getVersion() : 0,
+                        beer.getLastUpdatedDate() != 0 ? beer.getLastUpdatedDate() : -1));
+    }
+
+    @Override
+    public Stream<BeerDto> listBeers() {
+        return beerMapper.beersToBeerDtos(beerRepository.streamAll());
     }
 
     @Override
     public BeerDto saveNewBeer(BeerDto beerDto) {
-        return BeerDto.builder()
-                .id(UUID.randomUUID())
-                .beerName(beerDto.getBeerName())
-                .beerStyle(beerDto.getBeerStyle())
-                .build();
+        return beerMapper.beerToBeerDto(beerRepository.save(newBeer(beerDto, System.currentTimeMillis())));
+    }
+
+    @Override
+    public List<BeerDto> saveNewBeers(List<BeerDto> beerDtos) {
+        long now = System.currentTimeMillis();
+        List<Beer> beers = bulkMapper.mapList(beerDtos, beerDto -> newBeer(beerDto, now));
+        return bulkMapper.mapList(beerRepository.saveAll(beers), beerMapper::beerToBeerDto);
     }
 
     @Override
     public BeerDto updateBeer(UUID beerId, BeerDto beerDto) {
-        return BeerDto.builder()
-                .id(beerId)
-                .build();
+        return updateBeer(beerId, beerDto, null);
+    }
+
+    @Override
+    public BeerDto updateBeer(UUID beerId, BeerDto beerDto, long expectedVersion) {
+        return updateBeer(beerId, beerDto, Long.valueOf(expectedVersion));
+    }
+
+    private BeerDto updateBeer(UUID beerId, BeerDto beerDto, Long expectedVersion) {
+        Beer beer = beerMapper.beerDtoToBeer(beerDto);
+        beer.setId(beerId);
+        beer.setLastUpdatedDate(System.currentTimeMillis());
+        return beerRepository.replace(beerId, existing -> {
+                    beer.setCreatedDate(existing.getCreatedDate());
+                    return beer;
+                }, expectedVersion)
+                .map(beerMapper::beerToBeerDto)
+                .orElseThrow(() -> new NotFoundException("Beer", beerId));
     }
 
     @Override
     public void deleteById(UUID id) {
-        log.debug("deleted id: " + id.toString());
+        deleteById(id, null);
     }
 
     @Override
-    public BeerDto saveNewBeerDtoViaForm(MultiValueMap<String, String> paramMap) throws IOException {
-        paramMap.remove("id");
-        paramMap.add("id", UUID.randomUUID().toString());
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        Map<String, String> bmap = new HashMap<>();
-        paramMap.entrySet().stream()
-                .forEach(e -> {
-                    if (!e.getValue().get(0).isBlank()) {
-                        if (e.getKey().equals("id")) bmap.put("id", e.getValue().get(0));
-                        if (e.getKey().equals("beerName")) bmap.put("beerName", e.getValue().get(0));
-                        if (e.getKey().equals("upc")) bmap.put("upc", e.getValue().get(0));
-                    }
-                });
-
-
-        String json = objectMapper.writeValueAsString(bmap);
-        // Deserialization into the `Employee` class
-        BeerDto dto = objectMapper.readValue(json, BeerDto.class);
-
-        log.debug("\nparmMap: " + paramMap + "\nbmap: " + bmap + "\nresponse: " + json);
-        return dto;
+    public void deleteById(UUID id, long expectedVersion) {
+        deleteById(id, Long.valueOf(expectedVersion));
+    }
+
+    private void deleteById(UUID id, Long expectedVersion) {
+        if (!beerRepository.deleteById(id, expectedVersion)) {
+            throw new NotFoundException("Beer", id);
+        }
+        log.debug("deleted id: {}", id);
+    }
+
+    @Override
+    public BeerDto saveNewBeerDtoViaForm(MultiValueMap<String, String> paramMap) throws BindException {
+        BeerDto dto = beerFormMapper.formToBeerDto(paramMap);
+        log.debug("form beer: {}", dto);
+        return saveNewBeer(dto);
+    }
+
+    private Beer newBeer(BeerDto beerDto, long now) {
+        Beer beer = beerMapper.beerDtoToBeer(beerDto);
+        beer.setId(UUID.randomUUID());
+        beer.setCreatedDate(now);
+        beer.setLastUpdatedDate(now);
+        return beer;
     }
 }
@@ -0,0 +1,34 @@
+package guru.springframework.msscbrewery.services;
+
+import lombok.Value;
+
+/**
+ * Validators of a beer's current state: the repository version, rendered as a strong entity tag, and the last
+ * update time in epoch millis ({@code -1} when unknown).
+ */
+@Value
+public class BeerStamp {
+
+    long version;
+    long lastModified;
+
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses a single strong entity tag as produced by {@link #getETag()}; returns {@code null} for anything
+     * else, including weak tags, which never match for conditional writes.
+     */
+    public static Long parseETag(String eTag) {
+        String tag = eTag.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
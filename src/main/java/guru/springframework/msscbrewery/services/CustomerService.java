@@ -2,6 +2,7 @@ package guru.springframework.msscbrewery.services;
 
 import guru.springframework.msscbrewery.web.model.CustomerDto;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface CustomerService {
@@ -12,4 +13,8 @@ public interface CustomerService {
     CustomerDto handlePut(UUID id, CustomerDto dto);
 
     void deleteById(UUID id);
+
+    List<CustomerDto> findCustomersByNamePrefix(String prefix, int limit);
+
+    List<CustomerDto> findCustomersByNameContaining(String fragment, int limit);
 }
@@ -1,40 +1,62 @@
 package guru.springframework.msscbrewery.services;
 
+import guru.springframework.msscbrewery.domain.Customer;
+import guru.springframework.msscbrewery.repositories.CustomerRepository;
+import guru.springframework.msscbrewery.web.mappers.CustomerMapper;
 import guru.springframework.msscbrewery.web.model.CustomerDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
+@RequiredArgsConstructor
 @Service
 public class CustomerServiceImpl implements CustomerService {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+
     @Override
     public CustomerDto getCustomerById(UUID customerId) {
-        return CustomerDto.builder()
-                .id(UUID.randomUUID())
-                .name("Joe Buck")
-                .build();
+        return customerRepository.findById(customerId)
+                .map(customerMapper::customerToCustomerDto)
+                .orElseThrow(() -> new NotFoundException("Customer", customerId));
     }
 
     @Override
     public CustomerDto saveNewCustomer(CustomerDto dto) {
-        return CustomerDto.builder()
-                .id(UUID.randomUUID())
-                .name("Sommy Rut")
-                .build();
+        Customer customer = customerMapper.customerDtoToCustomer(dto);
+        customer.setId(UUID.randomUUID());
+        return customerMapper.customerToCustomerDto(customerRepository.save(customer));
     }
 
     @Override
     public CustomerDto handlePut(UUID id, CustomerDto dto) {
-        return CustomerDto.builder()
-                .id(id)
-                .name("Sommy Rut Update")
-                .build();
+        Customer customer = customerMapper.customerDtoToCustomer(dto);
+        customer.setId(id);
+        return customerRepository.replace(customer)
+                .map(customerMapper::customerToCustomerDto)
+                .orElseThrow(() -> new NotFoundException("Customer", id));
     }
 
     @Override
     public void deleteById(UUID id) {
-        log.debug("deleted id: " + id.toString());
+        if (!customerRepository.deleteById(id)) {
+            throw new NotFoundException("Customer", id);
+        }
+        log.debug("deleted id: {}", id);
+    }
+
+    @Override
+    public List<CustomerDto> findCustomersByNamePrefix(String prefix, int limit) {
+        return customerMapper.customersToCustomerDtos(customerRepository.findByNamePrefix(prefix, limit));
+    }
+
+    @Override
+    public List<CustomerDto> findCustomersByNameContaining(String fragment, int limit) {
+        return customerMapper.customersToCustomerDtos(customerRepository.findByNameContaining(fragment, limit));
     }
 }
@@ -0,0 +1,13 @@
+package guru.springframework.msscbrewery.services;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a requested entity does not exist; rendered as 404 by the web layer.
+ */
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String entity, UUID id) {
+        super(entity + " not found: " + id);
+    }
+}
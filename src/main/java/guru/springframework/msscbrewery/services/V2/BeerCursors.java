@@ -0,0 +1,77 @@
+package guru.springframework.msscbrewery.services.V2;
+
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.repositories.BeerSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes listing positions as opaque cursors: base64url of {@code <sort order>:<filter>:<id>:<sort value>}.
+ * The filter part binds a cursor to the query it was issued for; a cursor replayed against another filter
+ * could point outside the index range that filter walks, so it is rejected like any other bad cursor.
+ */
+final class BeerCursors {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private BeerCursors() {
+    }
+
+    static String encode(BeerSortKey key, BeerQuery query) {
+        BeerQuery.SortOrder order = query.getSortOrder();
+        String value;
+        switch (order) {
+            case NAME:
+                value = key.getName();
+                break;
+            case UPC:
+                value = key.getUpc().toString();
+                break;
+            default:
+                value = "";
+        }
+        String raw = order.name() + ':' + filter(query) + ':' + key.getId() + ':' + value;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BeerSortKey decode(String cursor, BeerQuery query) {
+        BeerQuery.SortOrder order = query.getSortOrder();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(':');
+            int second = raw.indexOf(':', first + 1);
+            int third = raw.indexOf(':', second + 1);
+            if (first < 0 || second < 0 || third < 0 || !raw.substring(0, first).equals(order.name())
+                    || !raw.substring(first + 1, second).equals(filter(query))) {
+                throw new InvalidCursorException(cursor);
+            }
+            UUID id = UUID.fromString(raw.substring(second + 1, third));
+            String value = raw.substring(third + 1);
+            switch (order) {
+                case NAME:
+                    return new BeerSortKey(value, null, id);
+                case UPC:
+                    return new BeerSortKey(null, Long.valueOf(value), id);
+                default:
+                    return new BeerSortKey(null, null, id);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Base64url, so it never contains the {@code ':'} separator; absent criteria and empty ones differ.
+     */
+    private static String filter(BeerQuery query) {
+        String raw = criterion(query.getBeerStyle()) + '|' + criterion(query.getUpcFrom()) + '|'
+                + criterion(query.getUpcTo()) + '|' + criterion(query.getNamePrefix());
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String criterion(Object value) {
+        return value == null ? "" : "=" + value;
+    }
+}
@@ -1,15 +1,44 @@
 package guru.springframework.msscbrewery.services.V2;
 
+import guru.springframework.msscbrewery.repositories.BeerQuery;
 import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface BeerServiceV2 {
 
     BeerDtoV2 getBeerById(UUID beerId);
 
+    /**
+     * Non-blocking {@link #getBeerById}; a missing beer completes the future with a
+     * {@link guru.springframework.msscbrewery.services.NotFoundException}.
+     */
+    CompletableFuture<BeerDtoV2> getBeerByIdAsync(UUID beerId);
+
+    /**
+     * One entry per id in the same order, {@code null} where there is no such beer.
+     */
+    List<BeerDtoV2> getBeersByIds(List<UUID> beerIds);
+
+    /**
+     * Keyset paged listing; {@code cursor} is the {@link BeerPageV2#getNextCursor()} of the previous page, or
+     * null for the first page.
+     */
+    BeerPageV2 listBeers(BeerQuery query, String cursor, int pageSize);
+
+    /**
+     * Lazily maps the whole catalog; callers must close the stream.
+     */
+    Stream<BeerDtoV2> listBeers();
+
     BeerDtoV2 saveNewBeer(BeerDtoV2 beerDto);
 
+    List<BeerDtoV2> saveNewBeers(List<BeerDtoV2> beerDtos);
+
     BeerDtoV2 updateBeer(UUID beerId, BeerDtoV2 beerDto);
 
     void deleteById(UUID id);
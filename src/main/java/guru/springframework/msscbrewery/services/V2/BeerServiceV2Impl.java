@@ -1,40 +1,111 @@
 package guru.springframework.msscbrewery.services.V2;
 
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.repositories.BeerRepository;
+import guru.springframework.msscbrewery.repositories.BeerSortKey;
+import guru.springframework.msscbrewery.services.NotFoundException;
+import guru.springframework.msscbrewery.services.batch.BeerLookupBatcher;
+import guru.springframework.msscbrewery.web.mappers.BeerMapper;
+import guru.springframework.msscbrewery.web.mappers.BulkMapper;
 import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
-import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Slf4j
+@RequiredArgsConstructor
 @Service
 public class BeerServiceV2Impl implements BeerServiceV2 {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final BulkMapper bulkMapper;
+    private final BeerLookupBatcher beerLookupBatcher;
+
     @Override
     public BeerDtoV2 getBeerById(UUID beerId) {
-        return BeerDtoV2.builder()
-                .id(beerId)
-                .beerName("Galaxy Cat")
-                .beerStyle(BeerStyleEnum.ALE)
+        return beerLookupBatcher.findById(beerId)
+                .map(beerMapper::beerToBeerDtoV2)
+                .orElseThrow(() -> new NotFoundException("Beer", beerId));
+    }
+
+    @Override
+    public CompletableFuture<BeerDtoV2> getBeerByIdAsync(UUID beerId) {
+        return beerLookupBatcher.findByIdAsync(beerId)
+                .thenApply(beer -> beer.map(beerMapper::beerToBeerDtoV2)
+                        .orElseThrow(() -> new NotFoundException("Beer", beerId)));
+    }
+
+    @Override
+    public List<BeerDtoV2> getBeersByIds(List<UUID> beerIds) {
+        return beerMapper.beersToBeerDtoV2s(beerRepository.findAllById(beerIds));
+    }
+
+    @Override
+    public BeerPageV2 listBeers(BeerQuery query, String cursor, int pageSize) {
+        BeerQuery.SortOrder order = query.getSortOrder();
+        BeerSortKey after = cursor == null ? null : BeerCursors.decode(cursor, query);
+        // one extra row tells whether there is a next page without a count query
+        List<Beer> beers = beerRepository.findPage(query, after, pageSize + 1);
+
+        boolean more = beers.size() > pageSize;
+        int size = Math.min(beers.size(), pageSize);
+        return BeerPageV2.builder()
+                .content(beerMapper.beersToBeerDtoV2s(beers.subList(0, size)))
+                .nextCursor(more ? BeerCursors.encode(BeerSortKey.of(beers.get(size - 1), order), query) : null)
                 .build();
     }
 
+    @Override
+    public Stream<BeerDtoV2> listBeers() {
+        return beerMapper.beersToBeerDtoV2s(beerRepository.streamAll());
+    }
+
     @Override
     public BeerDtoV2 saveNewBeer(BeerDtoV2 beerDto) {
-        return BeerDtoV2.builder()
-                .id(UUID.randomUUID())
-                .build();
+        return beerMapper.beerToBeerDtoV2(beerRepository.save(newBeer(beerDto, System.currentTimeMillis())));
+    }
+
+    @Override
+    public List<BeerDtoV2> saveNewBeers(List<BeerDtoV2> beerDtos) {
+        long now = System.currentTimeMillis();
+        List<Beer> beers = bulkMapper.mapList(beerDtos, beerDto -> newBeer(beerDto, now));
+        return bulkMapper.mapList(beerRepository.saveAll(beers), beerMapper::beerToBeerDtoV2);
     }
 
     @Override
     public BeerDtoV2 updateBeer(UUID beerId, BeerDtoV2 beerDto) {
-        return BeerDtoV2.builder()
-                .id(beerId)
-                .build();
+        Beer beer = beerMapper.beerDtoV2ToBeer(beerDto);
+        beer.setId(beerId);
+        beer.setLastUpdatedDate(System.currentTimeMillis());
+        return beerRepository.replace(beerId, existing -> {
+                    beer.setCreatedDate(existing.getCreatedDate());
+                    return beer;
+                }, null)
+                .map(beerMapper::beerToBeerDtoV2)
+                .orElseThrow(() -> new NotFoundException("Beer", beerId));
     }
 
     @Override
     public void deleteById(UUID id) {
-        log.debug("deleted id: " + id.toString());
+        if (!beerRepository.deleteById(id)) {
+            throw new NotFoundException("Beer", id);
+        }
+        log.debug("deleted id: {}", id);
+    }
+
+    private Beer newBeer(BeerDtoV2 beerDto, long now) {
+        Beer beer = beerMapper.beerDtoV2ToBeer(beerDto);
+        beer.setId(UUID.randomUUID());
+        beer.setCreatedDate(now);
+        beer.setLastUpdatedDate(now);
+        return beer;
     }
 }
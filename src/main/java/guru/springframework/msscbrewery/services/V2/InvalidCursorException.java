@@ -0,0 +1,11 @@
+package guru.springframework.msscbrewery.services.V2;
+
+/**
+ * Thrown for a listing cursor that was not produced by the same kind of query.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,35 @@
+package guru.springframework.msscbrewery.services.V2;
+
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link BeerServiceV2} for the WebFlux routes. Errors are signalled, not
+ * thrown: {@link guru.springframework.msscbrewery.services.NotFoundException} for unknown ids and
+ * {@link InvalidCursorException} for bad cursors.
+ */
+public interface ReactiveBeerServiceV2 {
+
+    Mono<BeerDtoV2> getBeerById(UUID beerId);
+
+    Mono<BeerPageV2> listBeers(BeerQuery query, String cursor, int pageSize);
+
+    /**
+     * The whole catalog, emitted as it is read; cancelling stops the scan.
+     */
+    Flux<BeerDtoV2> listBeers();
+
+    Mono<BeerDtoV2> saveNewBeer(BeerDtoV2 beerDto);
+
+    Flux<BeerDtoV2> saveNewBeers(List<BeerDtoV2> beerDtos);
+
+    Mono<BeerDtoV2> updateBeer(UUID beerId, BeerDtoV2 beerDto);
+
+    Mono<Void> deleteById(UUID id);
+}
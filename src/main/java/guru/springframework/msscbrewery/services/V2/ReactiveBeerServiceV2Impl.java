@@ -0,0 +1,69 @@
+package guru.springframework.msscbrewery.services.V2;
+
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adapts the blocking {@link BeerServiceV2}, including its cache decorator when enabled. Lookups by id go
+ * through {@link BeerServiceV2#getBeerByIdAsync} so a batched lookup never parks an event loop; listings run
+ * on the subscribing event loop thread since the repositories answer them from memory; writes can wait for
+ * the write-ahead log to sync and are moved to the elastic scheduler so they never block an event loop.
+ */
+@Service
+@ConditionalOnProperty(prefix = "brewery.reactive", name = "enabled", havingValue = "true")
+public class ReactiveBeerServiceV2Impl implements ReactiveBeerServiceV2 {
+
+    private final BeerServiceV2 beerService;
+    private final Scheduler writeScheduler = Schedulers.elastic();
+
+    public ReactiveBeerServiceV2Impl(BeerServiceV2 beerService) {
+        this.beerService = beerService;
+    }
+
+    @Override
+    public Mono<BeerDtoV2> getBeerById(UUID beerId) {
+        return Mono.defer(() -> Mono.fromFuture(beerService.getBeerByIdAsync(beerId)));
+    }
+
+    @Override
+    public Mono<BeerPageV2> listBeers(BeerQuery query, String cursor, int pageSize) {
+        return Mono.fromCallable(() -> beerService.listBeers(query, cursor, pageSize));
+    }
+
+    @Override
+    public Flux<BeerDtoV2> listBeers() {
+        return Flux.fromStream(beerService::listBeers);
+    }
+
+    @Override
+    public Mono<BeerDtoV2> saveNewBeer(BeerDtoV2 beerDto) {
+        return Mono.fromCallable(() -> beerService.saveNewBeer(beerDto)).subscribeOn(writeScheduler);
+    }
+
+    @Override
+    public Flux<BeerDtoV2> saveNewBeers(List<BeerDtoV2> beerDtos) {
+        return Mono.fromCallable(() -> beerService.saveNewBeers(beerDtos))
+                .subscribeOn(writeScheduler)
+                .flatMapIterable(saved -> saved);
+    }
+
+    @Override
+    public Mono<BeerDtoV2> updateBeer(UUID beerId, BeerDtoV2 beerDto) {
+        return Mono.fromCallable(() -> beerService.updateBeer(beerId, beerDto)).subscribeOn(writeScheduler);
+    }
+
+    @Override
+    public Mono<Void> deleteById(UUID id) {
+        return Mono.<Void>fromRunnable(() -> beerService.deleteById(id)).subscribeOn(writeScheduler);
+    }
+}
@@ -0,0 +1,175 @@
+package guru.springframework.msscbrewery.services.batch;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.repositories.BeerRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks beers up by id for the services, coalescing concurrent lookups into
+ * {@link BeerRepository#findAllById batched} ones when {@code brewery.lookup-batching.enabled} is set.
+ * <p>
+ * Callers queue their id and wait for their own future. A dispatcher thread takes the first queued lookup,
+ * keeps the batch open for {@code window} or until it holds {@code maxBatchSize} lookups, resolves the whole
+ * batch with one store call and completes every caller individually. A lone lookup therefore waits up to one
+ * window; under concurrency the per-lookup cost of the backend is shared by the batch. Batch sizes are
+ * recorded in the {@code brewery.lookup.batch.size} histogram. Disabled, every call goes straight to
+ * {@link BeerRepository#findById}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LookupBatchingProperties.class)
+public class BeerLookupBatcher {
+
+    private final BeerRepository beerRepository;
+    private final BlockingQueue<Lookup> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final List<Thread> dispatchers = new ArrayList<>();
+    private volatile boolean running;
+
+    public BeerLookupBatcher(BeerRepository beerRepository, LookupBatchingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = properties.getMaxBatchSize();
+        if (!properties.isEnabled()) {
+            this.queue = null;
+            this.batchSizes = null;
+            return;
+        }
+        this.queue = new LinkedBlockingQueue<>();
+        this.batchSizes = DistributionSummary.builder("brewery.lookup.batch.size")
+                .description("Lookups resolved per batched store call")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((long) maxBatchSize)
+                .register(meterRegistry);
+        this.running = true;
+        for (int i = 0; i < properties.getDispatchers(); i++) {
+            Thread dispatcher = new Thread(this::dispatch, "beer-lookup-" + i);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+    }
+
+    public Optional<Beer> findById(UUID beerId) {
+        try {
+            return findByIdAsync(beerId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the lookup without waiting for it, for callers such as event loops that must not block. The
+     * future completes on a dispatcher thread, so dependent stages should stay cheap; disabled, it is
+     * already complete.
+     */
+    public CompletableFuture<Optional<Beer>> findByIdAsync(UUID beerId) {
+        if (!running) {
+            return CompletableFuture.completedFuture(beerRepository.findById(beerId));
+        }
+        Lookup lookup = new Lookup(beerId);
+        queue.add(lookup);
+        if (!running && queue.remove(lookup)) {
+            return CompletableFuture.completedFuture(beerRepository.findById(beerId));
+        }
+        return lookup.thenApply(Optional::ofNullable);
+    }
+
+    private void dispatch() {
+        List<Lookup> batch = new ArrayList<>(maxBatchSize);
+        List<UUID> ids = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Lookup next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                resolve(batch, ids);
+            }
+        }
+    }
+
+    private void resolve(List<Lookup> batch, List<UUID> ids) {
+        for (Lookup lookup : batch) {
+            ids.add(lookup.beerId);
+        }
+        batchSizes.record(batch.size());
+        try {
+            List<Beer> beers = beerRepository.findAllById(ids);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(beers.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batched lookup of {} beers failed", batch.size(), e);
+            for (Lookup lookup : batch) {
+                lookup.completeExceptionally(e);
+            }
+        } finally {
+            batch.clear();
+            ids.clear();
+        }
+    }
+
+    /**
+     * Stops the dispatchers; lookups still queued are resolved directly.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.interrupt();
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        Lookup lookup;
+        while ((lookup = queue.poll()) != null) {
+            lookup.complete(beerRepository.findById(lookup.beerId).orElse(null));
+        }
+    }
+
+    private static final class Lookup extends CompletableFuture<Beer> {
+
+        final UUID beerId;
+
+        Lookup(UUID beerId) {
+            this.beerId = beerId;
+        }
+    }
+}
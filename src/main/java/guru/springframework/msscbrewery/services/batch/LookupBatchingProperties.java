@@ -0,0 +1,32 @@
+package guru.springframework.msscbrewery.services.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.lookup-batching")
+public class LookupBatchingProperties {
+
+    /**
+     * Coalesce concurrent getBeerById calls into batched store lookups.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a batch stays open for more lookups after its first one arrived.
+     */
+    private Duration window = Duration.ofNanos(200_000);
+
+    /**
+     * A batch is dispatched as soon as it holds this many lookups, even before the window has passed.
+     */
+    private int maxBatchSize = 128;
+
+    /**
+     * Number of threads collecting and resolving batches; more than one lets a slow backend work on several
+     * batches at once.
+     */
+    private int dispatchers = 1;
+}
@@ -0,0 +1,26 @@
+package guru.springframework.msscbrewery.services.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.cache")
+public class BeerCacheProperties {
+
+    /**
+     * Put a read-through cache in front of getBeerById.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of beers kept per API version; eviction is W-TinyLFU.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry lives after it was loaded.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
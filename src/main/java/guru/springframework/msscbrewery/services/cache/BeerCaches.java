@@ -0,0 +1,86 @@
+package guru.springframework.msscbrewery.services.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Owns the per-API-version beer caches so that a write through either API version invalidates the cached
+ * representation of both.
+ * <p>
+ * Caches are Caffeine loading caches: size bounded with W-TinyLFU eviction, expiring {@code ttl} after load,
+ * and computing a missing entry once while concurrent callers for the same id wait for that load. Hit, miss,
+ * eviction and load time statistics are published to the actuator as {@code cache.*} meters tagged with the
+ * cache name.
+ */
+@Component
+@EnableConfigurationProperties(BeerCacheProperties.class)
+@ConditionalOnProperty(prefix = "brewery.cache", name = "enabled", havingValue = "true")
+public class BeerCaches {
+
+    private final BeerCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<LoadingCache<UUID, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public BeerCaches(BeerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> LoadingCache<UUID, V> register(String name, CacheLoader<UUID, V> loader) {
+        LoadingCache<UUID, V> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl().toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Multi-get through {@code cache}: cached entries are used as they are and all misses are resolved with one
+     * {@code loadMissing} call. Missing beers are {@code null}. The loaded values are not cached: unlike a single
+     * {@code get}, a bulk load is not atomic with invalidation, so an update landing between the load and a put
+     * would leave the old beer cached for the whole ttl. Single lookups keep populating the cache.
+     */
+    public static <V> List<V> getAll(LoadingCache<UUID, V> cache, List<UUID> ids,
+                                     Function<List<UUID>, List<V>> loadMissing) {
+        List<V> found = new ArrayList<>(ids.size());
+        List<UUID> missing = new ArrayList<>();
+        int[] missingIndexes = new int[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            V value = cache.getIfPresent(ids.get(i));
+            found.add(value);
+            if (value == null) {
+                missingIndexes[missing.size()] = i;
+                missing.add(ids.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<V> loaded = loadMissing.apply(missing);
+            for (int i = 0; i < loaded.size(); i++) {
+                found.set(missingIndexes[i], loaded.get(i));
+            }
+        }
+        return found;
+    }
+
+    public void invalidate(UUID beerId) {
+        for (LoadingCache<UUID, ?> cache : caches) {
+            cache.invalidate(beerId);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package guru.springframework.msscbrewery.services.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.services.BeerStamp;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BindException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of {@link BeerService#getBeerById}; writes go to the delegate and then
+ * invalidate the beer in every {@link BeerCaches cache}.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "brewery.cache", name = "enabled", havingValue = "true")
+public class CachingBeerService implements BeerService {
+
+    private final BeerService delegate;
+    private final BeerCaches caches;
+    private final LoadingCache<UUID, BeerDto> beers;
+    private final LoadingCache<UUID, BeerStamp> stamps;
+
+    public CachingBeerService(@Qualifier("beerServiceImpl") BeerService delegate, BeerCaches caches) {
+        this.delegate = delegate;
+        this.caches = caches;
+        this.beers = caches.register("beers", delegate::getBeerById);
+        this.stamps = caches.register("beerStamps", beerId -> delegate.getBeerStamp(beerId).orElse(null));
+    }
+
+    @Override
+    public BeerDto getBeerById(UUID beerId) {
+        return beers.get(beerId);
+    }
+
+    @Override
+    public List<BeerDto> getBeersByIds(List<UUID> beerIds) {
+        return BeerCaches.getAll(beers, beerIds, delegate::getBeersByIds);
+    }
+
+    @Override
+    public Optional<BeerStamp> getBeerStamp(UUID beerId) {
+        return Optional.ofNullable(stamps.get(beerId));
+    }
+
+    @Override
+    public Stream<BeerDto> listBeers() {
+        return delegate.listBeers();
+    }
+
+    @Override
+    public BeerDto saveNewBeer(BeerDto beerDto) {
+        return delegate.saveNewBeer(beerDto);
+    }
+
+    @Override
+    public List<BeerDto> saveNewBeers(List<BeerDto> beerDtos) {
+        return delegate.saveNewBeers(beerDtos);
+    }
+
+    @Override
+    public BeerDto updateBeer(UUID beerId, BeerDto beerDto) {
+        try {
+            return delegate.updateBeer(beerId, beerDto);
+        } finally {
+            caches.invalidate(beerId);
+        }
+    }
+
+    @Override
+    public BeerDto updateBeer(UUID beerId, BeerDto beerDto, long expectedVersion) {
+        try {
+            return delegate.updateBeer(beerId, beerDto, expectedVersion);
+        } finally {
+            caches.invalidate(beerId);
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            caches.invalidate(id);
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id, long expectedVersion) {
+        try {
+            delegate.deleteById(id, expectedVersion);
+        } finally {
+            caches.invalidate(id);
+        }
+    }
+
+    @Override
+    public BeerDto saveNewBeerDtoViaForm(MultiValueMap<String, String> paramMap) throws BindException {
+        return delegate.saveNewBeerDtoViaForm(paramMap);
+    }
+}
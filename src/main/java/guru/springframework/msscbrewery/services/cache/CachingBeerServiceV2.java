@@ -0,0 +1,93 @@
+package guru.springframework.msscbrewery.services.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.services.V2.BeerServiceV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * V2 counterpart of {@link CachingBeerService}.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "brewery.cache", name = "enabled", havingValue = "true")
+public class CachingBeerServiceV2 implements BeerServiceV2 {
+
+    private final BeerServiceV2 delegate;
+    private final BeerCaches caches;
+    private final LoadingCache<UUID, BeerDtoV2> beers;
+
+    public CachingBeerServiceV2(@Qualifier("beerServiceV2Impl") BeerServiceV2 delegate, BeerCaches caches) {
+        this.delegate = delegate;
+        this.caches = caches;
+        this.beers = caches.register("beersV2", delegate::getBeerById);
+    }
+
+    @Override
+    public BeerDtoV2 getBeerById(UUID beerId) {
+        return beers.get(beerId);
+    }
+
+    /**
+     * Answers hits from the cache; misses go to the delegate without populating it, since an entry put once
+     * the lookup completes could bring back one a concurrent update has just invalidated.
+     */
+    @Override
+    public CompletableFuture<BeerDtoV2> getBeerByIdAsync(UUID beerId) {
+        BeerDtoV2 cached = beers.getIfPresent(beerId);
+        return cached != null ? CompletableFuture.completedFuture(cached) : delegate.getBeerByIdAsync(beerId);
+    }
+
+    @Override
+    public List<BeerDtoV2> getBeersByIds(List<UUID> beerIds) {
+        return BeerCaches.getAll(beers, beerIds, delegate::getBeersByIds);
+    }
+
+    @Override
+    public BeerPageV2 listBeers(BeerQuery query, String cursor, int pageSize) {
+        return delegate.listBeers(query, cursor, pageSize);
+    }
+
+    @Override
+    public Stream<BeerDtoV2> listBeers() {
+        return delegate.listBeers();
+    }
+
+    @Override
+    public BeerDtoV2 saveNewBeer(BeerDtoV2 beerDto) {
+        return delegate.saveNewBeer(beerDto);
+    }
+
+    @Override
+    public List<BeerDtoV2> saveNewBeers(List<BeerDtoV2> beerDtos) {
+        return delegate.saveNewBeers(beerDtos);
+    }
+
+    @Override
+    public BeerDtoV2 updateBeer(UUID beerId, BeerDtoV2 beerDto) {
+        try {
+            return delegate.updateBeer(beerId, beerDto);
+        } finally {
+            caches.invalidate(beerId);
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            caches.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package guru.springframework.msscbrewery.web.bodycache;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guru.springframework.msscbrewery.services.BeerStamp;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized, and where it pays off gzipped, JSON bodies of the most requested beers for
+ * {@code GET /api/v1/beer/{beerId}}.
+ * <p>
+ * An entry is tagged with the version of the {@link BeerStamp} read before the beer was loaded, and is only
+ * served for a request that saw the same version; a write through any API version therefore retires the entry
+ * by itself, and the v1 write endpoints also drop it at once. Bodies are sent with a single write of the kept
+ * array and an exact {@code Content-Length}; the encoding follows {@code Accept-Encoding}. Brotli is not
+ * offered because the JDK has no encoder for it. Entries are counted as the {@code beerBodies} cache in the
+ * {@code cache.*} meters.
+ */
+@Component
+@EnableConfigurationProperties(BodyCacheProperties.class)
+@ConditionalOnProperty(prefix = "brewery.body-cache", name = "enabled", havingValue = "true")
+public class BeerBodyCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectWriter writer;
+    private final int compressionThreshold;
+    private final Cache<UUID, CachedBody> bodies;
+
+    public BeerBodyCache(BodyCacheProperties properties, JsonCodecs codecs, MeterRegistry meterRegistry) {
+        this.writer = codecs.writer(BeerDto.class);
+        this.compressionThreshold = properties.getCompressionThreshold();
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl().toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "beerBodies");
+    }
+
+    /**
+     * Whether the request wants a representation this cache holds, i.e. JSON.
+     */
+    public boolean serves(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isEmpty()) {
+            return true;
+        }
+        if (accept.contains("cbor") || accept.contains("smile")) {
+            return false;
+        }
+        return accept.contains("json") || accept.contains("*/*") || accept.contains("application/*");
+    }
+
+    public CachedBody get(UUID beerId, BeerStamp stamp, Supplier<BeerDto> loader) {
+        CachedBody body = bodies.getIfPresent(beerId);
+        if (body == null || body.getVersion() != stamp.getVersion()) {
+            body = serialize(stamp.getVersion(), loader.get());
+            bodies.put(beerId, body);
+        }
+        return body;
+    }
+
+    public void invalidate(UUID beerId) {
+        bodies.invalidate(beerId);
+    }
+
+    public void write(CachedBody body, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = body.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = gzip ? body.getGzip() : body.getIdentity();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    CachedBody serialize(long version, BeerDto beer) {
+        try {
+            byte[] identity = writer.writeValueAsBytes(beer);
+            if (identity.length < compressionThreshold) {
+                return new CachedBody(version, identity, null);
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 2 + 32);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(identity);
+            }
+            byte[] gzip = compressed.toByteArray();
+            return new CachedBody(version, identity, gzip.length < identity.length ? gzip : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@code gzip} (or {@code *}) listed in {@code Accept-Encoding} without {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int semicolon = coding.indexOf(';');
+            String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                return semicolon < 0 || !isZeroQuality(coding.substring(semicolon + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String params) {
+        String q = params.trim();
+        if (!q.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(q.substring(2).trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
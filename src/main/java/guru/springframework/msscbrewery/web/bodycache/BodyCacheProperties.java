@@ -0,0 +1,26 @@
+package guru.springframework.msscbrewery.web.bodycache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.body-cache")
+public class BodyCacheProperties {
+
+    /**
+     * Maximum number of serialized beers kept; eviction is W-TinyLFU, so the most requested beers stay.
+     */
+    private long maximumSize = 5_000;
+
+    /**
+     * How long a serialized beer is kept after it was built.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Bodies shorter than this many bytes are only kept and sent uncompressed.
+     */
+    private int compressionThreshold = 1024;
+}
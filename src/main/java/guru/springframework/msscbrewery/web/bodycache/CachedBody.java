@@ -0,0 +1,15 @@
+package guru.springframework.msscbrewery.web.bodycache;
+
+import lombok.Value;
+
+/**
+ * A beer serialized as JSON for one version, with its gzip encoding when it is long enough to be worth it
+ * ({@code null} otherwise).
+ */
+@Value
+public class CachedBody {
+
+    long version;
+    byte[] identity;
+    byte[] gzip;
+}
@@ -0,0 +1,165 @@
+package guru.springframework.msscbrewery.web.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Streams a JSON array or NDJSON body of DTOs through validation and chunked saves, writing one result object
+ * per item to the response as it goes.
+ * <p>
+ * The body is read token by token with the Jackson streaming API and only one chunk of valid items is held at
+ * a time, so memory stays constant regardless of how many items are posted. Results are written as a JSON
+ * array of {@code {"index":..,"status":201,"location":".."}} or {@code {"index":..,"status":400,"errors":[..]}};
+ * invalid items are reported immediately, saved items once their chunk has been stored, so results are not
+ * necessarily in input order. A {@code null} element is reported as an invalid item. If storing a chunk fails,
+ * a final {@code {"indexes":[..],"status":500,"error":".."}} entry names the items of that chunk and the array
+ * is closed; later items are not read.
+ */
+@Slf4j
+@Component
+public class BatchIngester {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final JsonCodecs codecs;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BatchIngester(JsonCodecs codecs, Validator validator,
+                         @Value("${brewery.batch.chunk-size:500}") int chunkSize) {
+        this.codecs = codecs;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param saveChunk    stores a chunk of valid items and returns their new ids in the same order
+     * @param locationBase prefix of the {@code location} reported for each saved item
+     */
+    public <T> void ingest(InputStream body, OutputStream out, Class<T> type,
+                           Function<List<T>, List<UUID>> saveChunk, String locationBase) throws IOException {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int[] chunkIndexes = new int[chunkSize];
+
+        ObjectReader reader = codecs.reader(type);
+        try (JsonParser parser = codecs.getFactory().createParser(body);
+             JsonGenerator generator = codecs.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            int index = 0;
+            boolean failed = false;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                T item;
+                try {
+                    item = reader.readValue(parser);
+                } catch (JsonProcessingException e) {
+                    // the stream position is unknown after a parse error, so nothing after it can be trusted
+                    writeErrors(generator, index, List.of(e.getOriginalMessage()));
+                    break;
+                }
+
+                if (item == null) {
+                    writeErrors(generator, index, List.of("item : must not be null"));
+                    index++;
+                    token = parser.nextToken();
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violations = validator.validate(item);
+                if (violations.isEmpty()) {
+                    chunkIndexes[chunk.size()] = index;
+                    chunk.add(item);
+                    if (chunk.size() == chunkSize
+                            && !flushChunk(chunk, chunkIndexes, saveChunk, locationBase, generator)) {
+                        failed = true;
+                        break;
+                    }
+                } else {
+                    List<String> errors = new ArrayList<>(violations.size());
+                    violations.forEach(violation ->
+                            errors.add(violation.getPropertyPath() + " : " + violation.getMessage()));
+                    writeErrors(generator, index, errors);
+                }
+                index++;
+                token = parser.nextToken();
+            }
+
+            if (!failed) {
+                flushChunk(chunk, chunkIndexes, saveChunk, locationBase, generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * @return false if the chunk could not be stored; a terminal error entry has been written for it then
+     */
+    private static <T> boolean flushChunk(List<T> chunk, int[] chunkIndexes,
+                                          Function<List<T>, List<UUID>> saveChunk, String locationBase,
+                                          JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+        List<UUID> ids;
+        try {
+            ids = saveChunk.apply(chunk);
+        } catch (RuntimeException e) {
+            log.warn("Storing a batch chunk of {} item(s) failed", chunk.size(), e);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("indexes");
+            for (int i = 0; i < chunk.size(); i++) {
+                generator.writeNumber(chunkIndexes[i]);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("status", 500);
+            generator.writeStringField("error", "storing these items failed; later items were not processed");
+            generator.writeEndObject();
+            chunk.clear();
+            return false;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("index", chunkIndexes[i]);
+            generator.writeNumberField("status", 201);
+            generator.writeStringField("location", locationBase + ids.get(i));
+            generator.writeEndObject();
+        }
+        chunk.clear();
+        generator.flush();
+        return true;
+    }
+
+    private static void writeErrors(JsonGenerator generator, int index, List<String> errors) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeNumberField("status", 400);
+        generator.writeArrayFieldStart("errors");
+        for (String error : errors) {
+            generator.writeString(error);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
@@ -1,33 +1,99 @@
 package guru.springframework.msscbrewery.web.controller;
 
+import guru.springframework.msscbrewery.repositories.StaleVersionException;
 import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.services.BeerStamp;
+import guru.springframework.msscbrewery.web.bodycache.BeerBodyCache;
+import guru.springframework.msscbrewery.web.bodycache.CachedBody;
 import guru.springframework.msscbrewery.web.model.BeerDto;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Created by jt on 2019-04-20.
  */
+@Validated
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/beer")
 @RestController
 public class BeerController {
 
     private final BeerService beerService;
+    private final BatchIngester batchIngester;
+    private final CatalogExporter catalogExporter;
+    private final LookupWriter lookupWriter;
+    private final ObjectProvider<BeerBodyCache> bodyCache;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            BatchIngester.NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportBeers(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return catalogExporter.export(beerService::listBeers, BeerDto.class, accept);
+    }
 
+    /**
+     * Answers {@code If-None-Match}/{@code If-Modified-Since} from the beer's {@link BeerStamp} alone, so a
+     * revalidation that ends in 304 never maps or serializes the beer. The stamp is read before the body; a
+     * concurrent update can only make the returned ETag older than the body, which costs a later 200 rather
+     * than a wrong 304. With the {@link BeerBodyCache} enabled, a 200 for a JSON client is written from the
+     * bytes cached for the stamp's version.
+     */
     @GetMapping({"/{beerId}"})
-    public ResponseEntity<BeerDto> getBeer(@PathVariable("beerId") UUID beerId) {
+    public ResponseEntity<BeerDto> getBeer(@PathVariable("beerId") UUID beerId, WebRequest request,
+                                           HttpServletRequest servletRequest,
+                                           HttpServletResponse response) throws IOException {
+        Optional<BeerStamp> stamp = beerService.getBeerStamp(beerId);
+        if (!stamp.isPresent()) {
+            return new ResponseEntity<>(beerService.getBeerById(beerId), HttpStatus.OK);
+        }
+        String eTag = stamp.get().getETag();
+        long lastModified = stamp.get().getLastModified();
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        BeerBodyCache cache = bodyCache.getIfAvailable();
+        if (cache != null && cache.serves(servletRequest)) {
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            CachedBody body = cache.get(beerId, stamp.get(), () -> beerService.getBeerById(beerId));
+            cache.write(body, servletRequest, response);
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(beerService.getBeerById(beerId));
+    }
 
-        return new ResponseEntity<>(beerService.getBeerById(beerId), HttpStatus.OK);
+    /**
+     * Multi-get: a JSON array of up to {@value LookupWriter#MAX_IDS} ids in, one {@link LookupWriter} entry per
+     * id out, resolved against the store in one pass.
+     */
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void lookupBeers(@NotNull @Size(max = LookupWriter.MAX_IDS) @RequestBody List<UUID> beerIds,
+                            HttpServletResponse response) throws IOException {
+        lookupWriter.write(beerIds, beerService.getBeersByIds(beerIds), BeerDto.class, response);
     }
 
     @PostMapping
@@ -60,6 +126,17 @@ public class BeerController {
         }
     }
 
+    @PostMapping(
+            path = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BatchIngester.NDJSON_VALUE})
+    public void handleBatchPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        batchIngester.ingest(request.getInputStream(), response.getOutputStream(), BeerDto.class,
+                chunk -> beerService.saveNewBeers(chunk).stream().map(BeerDto::getId).collect(Collectors.toList()),
+                "/api/v1/beer/");
+    }
+
     @PostMapping(
             path = "/form",
             consumes = {MediaType.APPLICATION_FORM_URLENCODED_VALUE})
@@ -70,15 +147,44 @@ public class BeerController {
     }
 
     @PutMapping({"/{beerId}"})
-    public ResponseEntity handlePut(@PathVariable("beerId") UUID beerId, @Valid @RequestBody BeerDto beerDto) {
-        BeerDto savedDto = beerService.updateBeer(beerId, beerDto);
+    public ResponseEntity handlePut(@PathVariable("beerId") UUID beerId, @Valid @RequestBody BeerDto beerDto,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null) {
+            beerService.updateBeer(beerId, beerDto);
+        } else {
+            beerService.updateBeer(beerId, beerDto, expectedVersion(beerId, ifMatch));
+        }
+        bodyCache.ifAvailable(cache -> cache.invalidate(beerId));
         return new ResponseEntity(HttpStatus.NO_CONTENT);
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{beerId}")
-    public void deleteBeer(@PathVariable("beerId") UUID id) {
-        beerService.deleteById(id);
+    public void deleteBeer(@PathVariable("beerId") UUID id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null) {
+            beerService.deleteById(id);
+        } else {
+            beerService.deleteById(id, expectedVersion(id, ifMatch));
+        }
+        bodyCache.ifAvailable(cache -> cache.invalidate(id));
+    }
+
+    /**
+     * {@code If-Match: *} pins the write to whatever version currently exists; otherwise the header must be a
+     * single strong ETag previously returned by {@link #getBeer}.
+     */
+    private long expectedVersion(UUID beerId, String ifMatch) {
+        if ("*".equals(ifMatch.trim())) {
+            return beerService.getBeerStamp(beerId)
+                    .map(BeerStamp::getVersion)
+                    .orElseThrow(() -> new StaleVersionException(beerId, HttpHeaders.IF_MATCH + ": *"));
+        }
+        Long version = BeerStamp.parseETag(ifMatch);
+        if (version == null) {
+            throw new StaleVersionException(beerId, HttpHeaders.IF_MATCH + ": " + ifMatch);
+        }
+        return version;
     }
 
 }
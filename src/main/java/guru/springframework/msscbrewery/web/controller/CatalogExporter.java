@@ -0,0 +1,60 @@
+package guru.springframework.msscbrewery.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a lazily produced stream of DTOs straight to the response, as NDJSON or as a JSON array.
+ * <p>
+ * Items are serialized one at a time while the source stream is iterated, and the output is flushed every
+ * {@value #FLUSH_EVERY} items, so the first bytes go out immediately and heap use does not depend on how many
+ * items there are.
+ */
+@Component
+public class CatalogExporter {
+
+    private static final int FLUSH_EVERY = 256;
+    private static final MediaType NDJSON = MediaType.parseMediaType(BatchIngester.NDJSON_VALUE);
+
+    private final JsonCodecs codecs;
+
+    public CatalogExporter(JsonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * @param source opened on the async writer thread and closed once everything has been written
+     * @param accept the request's {@code Accept} header; NDJSON is used when it asks for it
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(Supplier<Stream<T>> source, Class<T> type, String accept) {
+        boolean ndjson = accept != null && accept.contains(BatchIngester.NDJSON_VALUE);
+        ObjectWriter writer = codecs.writer(type);
+
+        StreamingResponseBody body = out -> {
+            try (Stream<T> items = source.get();
+                 SequenceWriter sequence = ndjson
+                         ? writer.withRootValueSeparator("\n").writeValues(out)
+                         : writer.writeValuesAsArray(out)) {
+                int written = 0;
+                for (Iterator<T> it = items.iterator(); it.hasNext(); ) {
+                    sequence.write(it.next());
+                    if (++written % FLUSH_EVERY == 1) {
+                        sequence.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON_UTF8)
+                .body(body);
+    }
+}
@@ -5,11 +5,18 @@ import guru.springframework.msscbrewery.web.model.CustomerDto;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import java.util.List;
 import java.util.UUID;
 
+@Validated
 @RestController
 @RequestMapping("/api/v1/customer")
 public class CustomerController {
@@ -25,6 +32,21 @@ public class CustomerController {
         return new ResponseEntity<>(found, HttpStatus.OK);
     }
 
+    /**
+     * Type-ahead lookup: {@code match=prefix} (default) matches the start of the name or of any later word,
+     * {@code match=contains} matches anywhere in the name. Both ignore case.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerDto>> searchCustomers(
+            @NotBlank @RequestParam("name") String name,
+            @Pattern(regexp = "prefix|contains") @RequestParam(value = "match", defaultValue = "prefix") String match,
+            @Positive @Max(100) @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        List<CustomerDto> found = match.equals("contains")
+                ? customerService.findCustomersByNameContaining(name, limit)
+                : customerService.findCustomersByNamePrefix(name, limit);
+        return new ResponseEntity<>(found, HttpStatus.OK);
+    }
+
     @PostMapping
     public ResponseEntity handlePost(@Valid @RequestBody CustomerDto dto) {
         CustomerDto savedDto = customerService.saveNewCustomer(dto);
@@ -0,0 +1,63 @@
+package guru.springframework.msscbrewery.web.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the answer to a multi-get as a JSON array with one entry per requested id, in request order:
+ * {@code {"id":..,"status":200,"beer":{..}}} for a beer that exists and {@code {"id":..,"status":404}} for one
+ * that does not, so a missing id never fails the whole batch. Entries are serialized straight to the response
+ * and flushed every {@value #FLUSH_EVERY}.
+ */
+@Component
+public class LookupWriter {
+
+    /**
+     * Largest number of ids accepted in one lookup.
+     */
+    public static final int MAX_IDS = 1000;
+
+    private static final int FLUSH_EVERY = 64;
+
+    private final JsonCodecs codecs;
+
+    public LookupWriter(JsonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    public <T> void write(List<UUID> ids, List<T> beers, Class<T> type, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        ObjectWriter writer = codecs.writer(type);
+        try (JsonGenerator generator = codecs.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (int i = 0; i < ids.size(); i++) {
+                T beer = beers.get(i);
+                generator.writeStartObject();
+                generator.writeStringField("id", String.valueOf(ids.get(i)));
+                if (beer != null) {
+                    generator.writeNumberField("status", HttpStatus.OK.value());
+                    generator.writeFieldName("beer");
+                    writer.writeValue(generator, beer);
+                } else {
+                    generator.writeNumberField("status", HttpStatus.NOT_FOUND.value());
+                }
+                generator.writeEndObject();
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
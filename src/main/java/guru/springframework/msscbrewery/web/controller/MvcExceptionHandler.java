@@ -1,37 +1,71 @@
 package guru.springframework.msscbrewery.web.controller;
 
+import guru.springframework.msscbrewery.metrics.ErrorMetrics;
+import guru.springframework.msscbrewery.repositories.StaleVersionException;
+import guru.springframework.msscbrewery.services.NotFoundException;
+import guru.springframework.msscbrewery.web.errors.ValidationErrorWriter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 @ControllerAdvice
 public class MvcExceptionHandler {
 
-    @ExceptionHandler(value = {ConstraintViolationException.class})
-    public ResponseEntity<List> validationErrorHandling(ConstraintViolationException e) {
+    private final ErrorMetrics errorMetrics;
+    private final ValidationErrorWriter errorWriter;
 
-        List<String> errors = new ArrayList<>(e.getConstraintViolations().size());
-        e.getConstraintViolations().forEach(constraintViolation -> {
-            errors.add(constraintViolation.getPropertyPath() + " : " + constraintViolation.getMessage());
-        });
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    public MvcExceptionHandler(ErrorMetrics errorMetrics, ValidationErrorWriter errorWriter) {
+        this.errorMetrics = errorMetrics;
+        this.errorWriter = errorWriter;
+    }
 
+    @ExceptionHandler(value = {ConstraintViolationException.class})
+    public void validationErrorHandling(ConstraintViolationException e, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        errorMetrics.exception(e);
+        for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+            errorMetrics.constraint(violation);
+        }
+        errorWriter.writeViolations(e.getConstraintViolations(), request, response);
     }
 
     @ExceptionHandler(BindException.class)
-    public ResponseEntity<List> handleBindException(BindException e) {
-        return new ResponseEntity<>(e.getAllErrors(), HttpStatus.BAD_REQUEST);
+    public void handleBindException(BindException e, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        errorMetrics.exception(e);
+        List<ObjectError> errors = e.getAllErrors();
+        for (int i = 0; i < errors.size(); i++) {
+            errorMetrics.constraint(errors.get(i));
+        }
+        errorWriter.writeErrors(errors, request, response);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<String> notFoundHandling(NotFoundException e) {
+        errorMetrics.exception(e);
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<String> staleVersionHandling(StaleVersionException e) {
+        errorMetrics.exception(e);
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.PRECONDITION_FAILED);
     }
 
     @ExceptionHandler(value = {HttpMessageNotReadableException.class})
     public ResponseEntity<String> httpMessageNotReadableErrorHandling(HttpMessageNotReadableException e) {
+        errorMetrics.exception(e);
         Throwable cause = e.getCause();
         String errors = cause.getMessage();
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
@@ -1,19 +1,36 @@
 package guru.springframework.msscbrewery.web.controller.v2;
 
+import guru.springframework.msscbrewery.metrics.ErrorMetrics;
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.repositories.InvalidQueryException;
 import guru.springframework.msscbrewery.services.V2.BeerServiceV2;
+import guru.springframework.msscbrewery.services.V2.InvalidCursorException;
+import guru.springframework.msscbrewery.web.controller.BatchIngester;
+import guru.springframework.msscbrewery.web.controller.LookupWriter;
+import guru.springframework.msscbrewery.web.errors.ValidationErrorWriter;
 import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Validated
 @RequestMapping("/api/v2/beer")
@@ -21,9 +38,36 @@ import java.util.UUID;
 public class BeerControllerV2 {
 
     private final BeerServiceV2 beerService;
+    private final BatchIngester batchIngester;
+    private final ErrorMetrics errorMetrics;
+    private final ValidationErrorWriter errorWriter;
+    private final LookupWriter lookupWriter;
 
-    public BeerControllerV2(BeerServiceV2 beerService) {
+    public BeerControllerV2(BeerServiceV2 beerService, BatchIngester batchIngester, ErrorMetrics errorMetrics,
+                            ValidationErrorWriter errorWriter, LookupWriter lookupWriter) {
         this.beerService = beerService;
+        this.batchIngester = batchIngester;
+        this.errorMetrics = errorMetrics;
+        this.errorWriter = errorWriter;
+        this.lookupWriter = lookupWriter;
+    }
+
+    @GetMapping
+    public ResponseEntity<BeerPageV2> listBeers(
+            @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "upcFrom", required = false) Long upcFrom,
+            @RequestParam(value = "upcTo", required = false) Long upcTo,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Positive @Max(100) @RequestParam(value = "pageSize", defaultValue = "25") int pageSize) {
+
+        BeerQuery query = BeerQuery.builder()
+                .beerStyle(beerStyle)
+                .namePrefix(namePrefix)
+                .upcFrom(upcFrom)
+                .upcTo(upcTo)
+                .build();
+        return new ResponseEntity<>(beerService.listBeers(query, cursor, pageSize), HttpStatus.OK);
     }
 
     @GetMapping({"/{beerId}"})
@@ -32,6 +76,12 @@ public class BeerControllerV2 {
         return new ResponseEntity<>(beerService.getBeerById(beerId), HttpStatus.OK);
     }
 
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void lookupBeers(@NotNull @Size(max = LookupWriter.MAX_IDS) @RequestBody List<UUID> beerIds,
+                            HttpServletResponse response) throws IOException {
+        lookupWriter.write(beerIds, beerService.getBeersByIds(beerIds), BeerDtoV2.class, response);
+    }
+
     @PostMapping
     public ResponseEntity handlePost(@NotNull @Valid @RequestBody BeerDtoV2 beerDto) {
 
@@ -44,6 +94,17 @@ public class BeerControllerV2 {
         return new ResponseEntity(headers, HttpStatus.CREATED);
     }
 
+    @PostMapping(
+            path = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, BatchIngester.NDJSON_VALUE})
+    public void handleBatchPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        batchIngester.ingest(request.getInputStream(), response.getOutputStream(), BeerDtoV2.class,
+                chunk -> beerService.saveNewBeers(chunk).stream().map(BeerDtoV2::getId).collect(Collectors.toList()),
+                "/api/v2/beer/");
+    }
+
     @PutMapping({"/{beerId}"})
     public ResponseEntity handlePut(@NotNull @PathVariable("beerId") UUID beerId,
                                     @NotNull @Valid @RequestBody BeerDtoV2 beerDto) {
@@ -57,13 +118,21 @@ public class BeerControllerV2 {
         beerService.deleteById(id);
     }
 
+    @ExceptionHandler({InvalidCursorException.class, InvalidQueryException.class})
+    public ResponseEntity<String> invalidListingHandling(RuntimeException e) {
+        errorMetrics.exception(e);
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(value = {MethodArgumentNotValidException.class})
-    public ResponseEntity<List> validationErrorHandling(MethodArgumentNotValidException nve) {
-        List<String> errors = new ArrayList<>(nve.getBindingResult().getAllErrors().size());
-        nve.getBindingResult().getAllErrors().forEach(objectErr -> {
-            errors.add(objectErr.getCodes()[0] + " : " + objectErr.getDefaultMessage());
-        });
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    public void validationErrorHandling(MethodArgumentNotValidException nve, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        errorMetrics.exception(nve);
+        List<ObjectError> errors = nve.getBindingResult().getAllErrors();
+        for (int i = 0; i < errors.size(); i++) {
+            errorMetrics.constraint(errors.get(i));
+        }
+        errorWriter.writeErrors(errors, request, response);
 /* MethodArgumentNotValidException
 [
     "NotBlank.beerDtoV2.beerName : must not be blank",
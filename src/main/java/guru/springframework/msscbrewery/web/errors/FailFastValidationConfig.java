@@ -0,0 +1,25 @@
+package guru.springframework.msscbrewery.web.errors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * Replaces Boot's default validator with one that stops at the first violation, so a request that breaks every
+ * constraint costs one check and one error instead of all of them. MVC binding, method validation and the
+ * form mapper all use this bean.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "brewery.validation", name = "fail-fast", havingValue = "true")
+public class FailFastValidationConfig {
+
+    @Bean
+    public LocalValidatorFactoryBean defaultValidator() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setMessageInterpolator(new MessageInterpolatorFactory().getObject());
+        validator.getValidationPropertyMap().put("hibernate.validator.fail_fast", "true");
+        return validator;
+    }
+}
@@ -0,0 +1,179 @@
+package guru.springframework.msscbrewery.web.errors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes 400 responses for rejected input straight to the servlet stream from precomputed byte templates.
+ * <p>
+ * An error is identified by its code or property path plus its message; the first time a pair is seen both of
+ * its renderings are serialized once and kept: the legacy string {@code "NotBlank.beerDtoV2.beerName : must not
+ * be blank"} and the structured {@code {"field":"beerName","constraint":"NotBlank","message":"must not be
+ * blank"}}. Clients that accept {@code application/problem+json} get the structured list wrapped in an RFC 7807
+ * problem, everyone else keeps the JSON string array. The number of templates is capped so that messages that
+ * embed input values cannot grow it without bound; errors past the cap are rendered without being kept.
+ */
+@Component
+public class ValidationErrorWriter {
+
+    static final int MAX_TEMPLATES = 4096;
+
+    private static final byte[] PROBLEM_PREFIX =
+            "{\"type\":\"about:blank\",\"title\":\"Bad Request\",\"status\":400,\"errors\":["
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PROBLEM_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, ConcurrentMap<String, Template>> templates = new ConcurrentHashMap<>();
+    private final AtomicInteger templateCount = new AtomicInteger();
+
+    public ValidationErrorWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeErrors(List<? extends ObjectError> errors, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        boolean structured = acceptsProblem(request);
+        ServletOutputStream out = begin(structured, response);
+        for (int i = 0; i < errors.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Template template = template(errors.get(i));
+            out.write(structured ? template.structured : template.legacy);
+        }
+        end(structured, out);
+    }
+
+    public void writeViolations(Set<? extends ConstraintViolation<?>> violations, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        boolean structured = acceptsProblem(request);
+        ServletOutputStream out = begin(structured, response);
+        boolean first = true;
+        for (ConstraintViolation<?> violation : violations) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            Template template = template(violation);
+            out.write(structured ? template.structured : template.legacy);
+        }
+        end(structured, out);
+    }
+
+    private static boolean acceptsProblem(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    }
+
+    private static ServletOutputStream begin(boolean structured, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(structured
+                ? MediaType.APPLICATION_PROBLEM_JSON_UTF8_VALUE : MediaType.APPLICATION_JSON_UTF8_VALUE);
+        ServletOutputStream out = response.getOutputStream();
+        if (structured) {
+            out.write(PROBLEM_PREFIX);
+        } else {
+            out.write('[');
+        }
+        return out;
+    }
+
+    private static void end(boolean structured, ServletOutputStream out) throws IOException {
+        if (structured) {
+            out.write(PROBLEM_SUFFIX);
+        } else {
+            out.write(']');
+        }
+        out.flush();
+    }
+
+    Template template(ObjectError error) {
+        String[] codes = error.getCodes();
+        String key = codes != null && codes.length > 0 ? codes[0] : error.getObjectName();
+        String message = String.valueOf(error.getDefaultMessage());
+        Template template = cached(key, message);
+        if (template == null) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : error.getObjectName();
+            template = cache(key, message, build(key, field, error.getCode(), message));
+        }
+        return template;
+    }
+
+    Template template(ConstraintViolation<?> violation) {
+        String path = violation.getPropertyPath().toString();
+        String message = violation.getMessage();
+        Template template = cached(path, message);
+        if (template == null) {
+            String constraint = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+            template = cache(path, message, build(path, path, constraint, message));
+        }
+        return template;
+    }
+
+    private Template cached(String key, String message) {
+        Map<String, Template> byMessage = templates.get(key);
+        return byMessage == null ? null : byMessage.get(message);
+    }
+
+    private Template cache(String key, String message, Template template) {
+        if (templateCount.get() >= MAX_TEMPLATES) {
+            return template;
+        }
+        Template existing = templates.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .putIfAbsent(message, template);
+        if (existing != null) {
+            return existing;
+        }
+        templateCount.incrementAndGet();
+        return template;
+    }
+
+    private Template build(String key, String field, String constraint, String message) {
+        Map<String, String> structured = new LinkedHashMap<>(4);
+        structured.put("field", field);
+        structured.put("constraint", constraint);
+        structured.put("message", message);
+        try {
+            return new Template(objectMapper.writeValueAsBytes(key + " : " + message),
+                    objectMapper.writeValueAsBytes(structured));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render validation error " + key, e);
+        }
+    }
+
+    int templateCount() {
+        return templateCount.get();
+    }
+
+    static final class Template {
+
+        final byte[] legacy;
+        final byte[] structured;
+
+        Template(byte[] legacy, byte[] structured) {
+            this.legacy = legacy;
+            this.structured = structured;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package guru.springframework.msscbrewery.web.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admits at most {@code maxConcurrency} API requests at a time. A request that finds every permit taken is
+ * answered at once with {@code 503 Service Unavailable} and a {@code Retry-After} header, before body
+ * conversion or the service run, instead of queueing for a worker thread. The check never waits, so it costs
+ * the worker thread nothing.
+ * <p>
+ * An async request (the streamed catalog export) keeps its permit across the async dispatch and returns it
+ * when that dispatch completes.
+ */
+class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final Semaphore permits;
+    private final String retryAfterSeconds;
+    private final Counter rejected;
+
+    AdmissionInterceptor(ExecutionProperties properties, MeterRegistry meterRegistry) {
+        int maxConcurrency = properties.getMaxConcurrency();
+        this.permits = new Semaphore(maxConcurrency);
+        this.retryAfterSeconds = Long.toString(Math.max(1, properties.getRetryAfter().getSeconds()));
+        this.rejected = Counter.builder("brewery.execution.rejected")
+                .description("Requests answered with 503 because every admission permit was taken")
+                .register(meterRegistry);
+        Gauge.builder("brewery.execution.active", permits, p -> maxConcurrency - p.availablePermits())
+                .description("Requests admitted and not yet finished")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(ADMITTED) != null) {
+            return true;
+        }
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            permits.release();
+        }
+    }
+}
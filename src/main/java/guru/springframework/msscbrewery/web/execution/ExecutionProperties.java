@@ -0,0 +1,27 @@
+package guru.springframework.msscbrewery.web.execution;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.execution")
+public class ExecutionProperties {
+
+    /**
+     * {@code bounded} caps the API requests handled at once and answers the excess with 503.
+     */
+    private String mode = "pool";
+
+    /**
+     * API requests admitted at once; keep it at or below {@code server.tomcat.max-threads} so admitted requests
+     * do not queue for a worker thread.
+     */
+    private int maxConcurrency = 200;
+
+    /**
+     * Sent as {@code Retry-After} with the 503, rounded to whole seconds.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,37 @@
+package guru.springframework.msscbrewery.web.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * With {@code brewery.execution.mode=bounded}, the API requests run under an {@link AdmissionInterceptor}
+ * that sheds load with 503 once {@code max-concurrency} requests are in progress.
+ * <p>
+ * Requests still run on Tomcat's worker pool with synchronous controllers, one platform thread per request,
+ * so this does not raise the concurrency ceiling: on the Java 11 baseline that stays
+ * {@code server.tomcat.max-threads}. What it changes is what happens past the limit. Excess requests get a
+ * fast, retryable answer instead of waiting in Tomcat's queue until they time out. Async controller methods
+ * and virtual threads were not adopted.
+ */
+@Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
+@ConditionalOnProperty(prefix = "brewery.execution", name = "mode", havingValue = "bounded")
+public class RequestExecutionConfig implements WebMvcConfigurer {
+
+    private final ExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RequestExecutionConfig(ExecutionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(properties, meterRegistry)).addPathPatterns("/api/**");
+    }
+}
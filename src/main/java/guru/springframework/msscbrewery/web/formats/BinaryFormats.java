@@ -0,0 +1,38 @@
+package guru.springframework.msscbrewery.web.formats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Object mappers for the binary representations of the DTOs. Both formats write a {@code UUID} as a 16 byte
+ * binary value (Jackson does so whenever the generator can write binary natively), numbers in binary and
+ * {@code BeerStyleEnum} by ordinal; dates are numeric timestamps. Readers accept the ordinal or the name.
+ */
+public final class BinaryFormats {
+
+    public static final MediaType CBOR = new MediaType("application", "cbor");
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private BinaryFormats() {
+    }
+
+    public static ObjectMapper cborMapper() {
+        return configure(Jackson2ObjectMapperBuilder.cbor()).build();
+    }
+
+    public static ObjectMapper smileMapper() {
+        return configure(Jackson2ObjectMapperBuilder.smile()).build();
+    }
+
+    private static Jackson2ObjectMapperBuilder configure(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .modulesToInstall(new AfterburnerModule())
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX,
+                        SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,33 @@
+package guru.springframework.msscbrewery.web.formats;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) request and response bodies
+ * for every controller, chosen by {@code Content-Type} and {@code Accept}. Boot puts converter beans ahead of
+ * the defaults and drops the default converter of the same class, so these replace the plain Spring ones.
+ * Both formats are binary, so the UTF-8 default charset of the Jackson converters is cleared to keep
+ * {@code charset=UTF-8} out of their {@code Content-Type}.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(BinaryFormats.cborMapper());
+        converter.setDefaultCharset(null);
+        return converter;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        MappingJackson2SmileHttpMessageConverter converter =
+                new MappingJackson2SmileHttpMessageConverter(BinaryFormats.smileMapper());
+        converter.setDefaultCharset(null);
+        return converter;
+    }
+}
@@ -0,0 +1,80 @@
+package guru.springframework.msscbrewery.web.formats;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The JSON converter, reading and writing the DTOs registered with {@link JsonCodecs} through their
+ * pre-resolved reader and writer. Everything else, JSON views and non-UTF-8 bodies take the regular path.
+ */
+public class CodecJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final JsonCodecs codecs;
+
+    public CodecJsonHttpMessageConverter(ObjectMapper objectMapper, JsonCodecs codecs) {
+        super(objectMapper);
+        this.codecs = codecs;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        if (!(type instanceof Class) || !codecs.handles((Class<?>) type)
+                || !isUtf8(inputMessage.getHeaders().getContentType())) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        try {
+            return codecs.reader((Class<?>) type).readValue(inputMessage.getBody());
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (object instanceof MappingJacksonValue || !codecs.handles(object.getClass())) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        JsonEncoding encoding = getJsonEncoding(contentType);
+        // closing the generator hands its buffers back to the recycler; the response stream stays open
+        JsonGenerator generator = codecs.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), encoding);
+        try {
+            codecs.writer(object.getClass()).writeValue(generator, object);
+            generator.flush();
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        } finally {
+            generator.close();
+        }
+    }
+
+    private static boolean isUtf8(MediaType contentType) {
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset == null || StandardCharsets.UTF_8.equals(charset);
+    }
+}
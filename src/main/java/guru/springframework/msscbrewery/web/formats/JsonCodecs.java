@@ -0,0 +1,56 @@
+package guru.springframework.msscbrewery.web.formats;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ObjectReader}s and {@link ObjectWriter}s for the DTOs, resolved once against the application's
+ * {@link ObjectMapper} so that a request goes straight to the root (de)serializer instead of looking it up
+ * through a new reader or writer. Writers leave flushing to the caller. Buffers come from the factory's
+ * recycler, which Jackson keeps per thread and reuses across requests.
+ */
+public class JsonCodecs {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new HashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+
+    public JsonCodecs(ObjectMapper objectMapper, Class<?>... types) {
+        this.objectMapper = objectMapper;
+        for (Class<?> type : types) {
+            readers.put(type, objectMapper.readerFor(type));
+            writers.put(type, objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    public boolean handles(Class<?> type) {
+        return writers.containsKey(type);
+    }
+
+    public JsonFactory getFactory() {
+        return objectMapper.getFactory();
+    }
+
+    /**
+     * The pre-resolved reader of {@code type}, or a new one when the type was not registered.
+     */
+    public ObjectReader reader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        return reader != null ? reader : objectMapper.readerFor(type);
+    }
+
+    /**
+     * The pre-resolved writer of {@code type}, or a new one when the type was not registered.
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        return writer != null
+                ? writer : objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
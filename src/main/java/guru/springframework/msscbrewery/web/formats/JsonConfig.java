@@ -0,0 +1,58 @@
+package guru.springframework.msscbrewery.web.formats;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import guru.springframework.msscbrewery.web.model.CustomerDto;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * The one Jackson setup of the application. Boot registers {@link Module} beans and applies the customizers to
+ * the shared {@link ObjectMapper}, which the JSON converter, the batch and export endpoints, the write-ahead log
+ * and the reactive server all use.
+ * <ul>
+ * <li>Afterburner replaces reflective property access with generated accessors
+ * ({@code brewery.json.afterburner}, on by default).</li>
+ * <li>{@code brewery.json.compact-dates=true} writes dates as epoch milliseconds instead of ISO-8601 strings;
+ * off by default because it changes the representation clients see.</li>
+ * <li>{@link JsonCodecs} holds the pre-resolved readers and writers of the DTOs.</li>
+ * </ul>
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "brewery.json", name = "afterburner", havingValue = "true", matchIfMissing = true)
+    public Module afterburnerModule() {
+        return new AfterburnerModule();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "brewery.json", name = "compact-dates", havingValue = "true")
+    public Jackson2ObjectMapperBuilderCustomizer compactDates() {
+        return builder -> builder
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    }
+
+    @Bean
+    public JsonCodecs jsonCodecs(ObjectMapper objectMapper) {
+        return new JsonCodecs(objectMapper, BeerDto.class, BeerDtoV2.class, BeerPageV2.class, CustomerDto.class);
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   JsonCodecs jsonCodecs) {
+        return new CodecJsonHttpMessageConverter(objectMapper, jsonCodecs);
+    }
+}
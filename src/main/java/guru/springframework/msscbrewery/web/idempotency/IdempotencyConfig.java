@@ -0,0 +1,28 @@
+package guru.springframework.msscbrewery.web.idempotency;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies {@link IdempotencyInterceptor} to the endpoints that create an entity with a new id.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig implements WebMvcConfigurer {
+
+    private final IdempotencyProperties properties;
+
+    public IdempotencyConfig(IdempotencyProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new IdempotencyInterceptor(properties))
+                .addPathPatterns("/api/v1/beer", "/api/v1/beer/", "/api/v1/beer/full",
+                        "/api/v2/beer", "/api/v2/beer/",
+                        "/api/v1/customer", "/api/v1/customer/");
+    }
+}
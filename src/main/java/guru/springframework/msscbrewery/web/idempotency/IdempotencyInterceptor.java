@@ -0,0 +1,94 @@
+package guru.springframework.msscbrewery.web.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes POSTs carrying an {@code Idempotency-Key} header safe to retry. The first request with a key claims
+ * it before the handler runs; when it completes with a 2xx its status and {@code Location} are remembered.
+ * A retry with the same key on the same path is answered from that record in {@link #preHandle}, before body
+ * conversion, validation or the service run, and is marked with {@code Idempotent-Replayed: true}. A retry
+ * that arrives while the first request is still running gets 409; a first request that fails releases the
+ * key so it can be retried.
+ * <p>
+ * Keys live in a Caffeine cache, bounded by size and expiring after write. Its map is striped per hash bin
+ * and buffers bookkeeping per stripe, so claiming keys at high rates does not serialize on one lock.
+ * Replays carry status and headers only, not the original body.
+ */
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CLAIMED_KEY = IdempotencyInterceptor.class.getName() + ".key";
+    private static final Outcome IN_FLIGHT = new Outcome(0, null);
+
+    private final ConcurrentMap<String, Outcome> outcomes;
+
+    public IdempotencyInterceptor(IdempotencyProperties properties) {
+        Cache<String, Outcome> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl().toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+        this.outcomes = cache.asMap();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String key = request.getHeader(HEADER);
+        if (key == null || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String cacheKey = path(request) + ' ' + key;
+        Outcome previous = outcomes.putIfAbsent(cacheKey, IN_FLIGHT);
+        if (previous == null) {
+            request.setAttribute(CLAIMED_KEY, cacheKey);
+            return true;
+        }
+        if (previous == IN_FLIGHT) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            return false;
+        }
+        response.setStatus(previous.getStatus());
+        if (previous.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, previous.getLocation());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        String cacheKey = (String) request.getAttribute(CLAIMED_KEY);
+        if (cacheKey == null) {
+            return;
+        }
+        if (ex == null && response.getStatus() / 100 == 2) {
+            outcomes.put(cacheKey, new Outcome(response.getStatus(), response.getHeader(HttpHeaders.LOCATION)));
+        } else {
+            outcomes.remove(cacheKey, IN_FLIGHT);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.length() > 1 && uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+    }
+
+    @Value
+    private static class Outcome {
+        int status;
+        String location;
+    }
+}
@@ -0,0 +1,21 @@
+package guru.springframework.msscbrewery.web.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Maximum number of remembered keys; the least valuable are evicted first (W-TinyLFU).
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a key is remembered after its request completed.
+     */
+    private Duration ttl = Duration.ofHours(24);
+}
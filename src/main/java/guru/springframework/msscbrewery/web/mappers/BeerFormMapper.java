@@ -0,0 +1,70 @@
+package guru.springframework.msscbrewery.web.mappers;
+
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validator;
+
+/**
+ * Binds an url encoded beer form straight onto a {@link BeerDto}. Only {@code beerName}, {@code beerStyle} and
+ * {@code upc} are bound; blank values count as absent. Conversion and bean validation failures are collected
+ * into one {@link BindException}, which the web layer renders like any other binding error. The form has never
+ * required a style, so {@code beerStyle} may be left out; a style that is given must be a {@code BeerStyleEnum}
+ * name.
+ */
+@Component
+public class BeerFormMapper {
+
+    private static final String OBJECT_NAME = "beerDto";
+
+    private final SpringValidatorAdapter validator;
+
+    public BeerFormMapper(Validator validator) {
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    public BeerDto formToBeerDto(MultiValueMap<String, String> form) throws BindException {
+        BeerDto dto = new BeerDto();
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(dto, OBJECT_NAME);
+
+        dto.setBeerName(value(form, "beerName"));
+        dto.setBeerStyle(value(form, "beerStyle"));
+        String upc = value(form, "upc");
+        if (upc != null) {
+            try {
+                dto.setUpc(Long.valueOf(upc.trim()));
+            } catch (NumberFormatException e) {
+                result.addError(new FieldError(OBJECT_NAME, "upc", upc, true,
+                        result.resolveMessageCodes("typeMismatch", "upc"), null,
+                        "Failed to convert value '" + upc + "' to Long"));
+            }
+        }
+
+        BeanPropertyBindingResult validation = new BeanPropertyBindingResult(dto, OBJECT_NAME);
+        validator.validate(dto, validation);
+        for (ObjectError error : validation.getAllErrors()) {
+            if (dto.getBeerStyle() != null || !isBeerStyleError(error)) {
+                result.addError(error);
+            }
+        }
+        if (result.hasErrors()) {
+            throw new BindException(result);
+        }
+        return dto;
+    }
+
+    private static boolean isBeerStyleError(ObjectError error) {
+        return error instanceof FieldError && "beerStyle".equals(((FieldError) error).getField());
+    }
+
+    private static String value(MultiValueMap<String, String> form, String field) {
+        String value = form.getFirst(field);
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -2,11 +2,41 @@ package guru.springframework.msscbrewery.web.mappers;
 
 import guru.springframework.msscbrewery.domain.Beer;
 import guru.springframework.msscbrewery.web.model.BeerDto;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The list methods map into a list presized to the source; for large lists use
+ * {@link BulkMapper#mapList} with the single-object method instead.
+ */
 @Mapper(uses = {DateMapper.class})
 public interface BeerMapper {
     BeerDto beerToBeerDto(Beer beer);
 
+    @Mapping(target = "version", ignore = true)
     Beer beerDtoToBeer(BeerDto beerDto);
+
+    @Mapping(source = "beerStyle", target = "beerStyleStr")
+    BeerDtoV2 beerToBeerDtoV2(Beer beer);
+
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastUpdatedDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Beer beerDtoV2ToBeer(BeerDtoV2 beerDto);
+
+    List<BeerDto> beersToBeerDtos(List<Beer> beers);
+
+    List<Beer> beerDtosToBeers(List<BeerDto> beerDtos);
+
+    List<BeerDtoV2> beersToBeerDtoV2s(List<Beer> beers);
+
+    List<Beer> beerDtoV2sToBeers(List<BeerDtoV2> beerDtos);
+
+    Stream<BeerDto> beersToBeerDtos(Stream<Beer> beers);
+
+    Stream<BeerDtoV2> beersToBeerDtoV2s(Stream<Beer> beers);
 }
@@ -0,0 +1,89 @@
+package guru.springframework.msscbrewery.web.mappers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Applies a single-object mapper method to a whole list. Lists below {@code brewery.mapping.parallel-threshold}
+ * are mapped in a loop on the calling thread; larger random access lists are split into halves down to
+ * {@code brewery.mapping.leaf-size} elements and mapped on a dedicated fork/join pool, each leaf writing into
+ * its slice of one presized result array. The mapper must be stateless, which the generated MapStruct mappers
+ * and {@link DateMapper} are.
+ */
+@Component
+public class BulkMapper {
+
+    private final int parallelThreshold;
+    private final int leafSize;
+    private final ForkJoinPool pool;
+
+    public BulkMapper(@Value("${brewery.mapping.parallel-threshold:10000}") int parallelThreshold,
+                      @Value("${brewery.mapping.leaf-size:2048}") int leafSize,
+                      @Value("${brewery.mapping.parallelism:0}") int parallelism) {
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = Math.max(leafSize, 1);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public <S, T> List<T> mapList(List<S> source, Function<? super S, ? extends T> mapper) {
+        if (source.size() < parallelThreshold || !(source instanceof RandomAccess)) {
+            List<T> target = new ArrayList<>(source.size());
+            for (S element : source) {
+                target.add(mapper.apply(element));
+            }
+            return target;
+        }
+        Object[] target = new Object[source.size()];
+        pool.invoke(new MapSlice<>(source, mapper, target, 0, target.length, leafSize));
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(target);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final class MapSlice<S, T> extends RecursiveAction {
+
+        private final List<S> source;
+        private final Function<? super S, ? extends T> mapper;
+        private final Object[] target;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        MapSlice(List<S> source, Function<? super S, ? extends T> mapper, Object[] target, int from, int to,
+                 int leafSize) {
+            this.source = source;
+            this.mapper = mapper;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    target[i] = mapper.apply(source.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapSlice<>(source, mapper, target, from, middle, leafSize),
+                    new MapSlice<>(source, mapper, target, middle, to, leafSize));
+        }
+    }
+}
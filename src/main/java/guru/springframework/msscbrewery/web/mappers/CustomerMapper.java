@@ -4,9 +4,18 @@ import guru.springframework.msscbrewery.domain.Customer;
 import guru.springframework.msscbrewery.web.model.CustomerDto;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Mapper
 public interface CustomerMapper {
     Customer customerDtoToCustomer(CustomerDto customerDto);
 
     CustomerDto customerToCustomerDto(Customer customer);
+
+    List<Customer> customerDtosToCustomers(List<CustomerDto> customerDtos);
+
+    List<CustomerDto> customersToCustomerDtos(List<Customer> customers);
+
+    Stream<CustomerDto> customersToCustomerDtos(Stream<Customer> customers);
 }
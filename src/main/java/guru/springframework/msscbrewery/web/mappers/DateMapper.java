@@ -2,36 +2,37 @@ package guru.springframework.msscbrewery.web.mappers;
 
 import org.springframework.stereotype.Component;
 
-import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
+/**
+ * Converts the epoch millis carried by the domain to the UTC {@link OffsetDateTime} exposed by the DTOs and
+ * back, with plain epoch arithmetic instead of going through {@code Instant} and zone rules. Building the
+ * result still allocates its {@code LocalDateTime}, {@code LocalDate} and {@code LocalTime} parts.
+ * <p>
+ * {@code 0} doubles as the domain's "unset": it maps to {@code null} and {@code null} maps to it. A date of
+ * exactly 1970-01-01T00:00Z therefore cannot be represented and reads back as {@code null}.
+ */
 @Component
 public class DateMapper {
-    public OffsetDateTime asOffsetDateTime(Timestamp ts) {
-        if (ts != null) {
-            return OffsetDateTime.of(
-                    ts.toLocalDateTime().getYear(),
-                    ts.toLocalDateTime().getMonthValue(),
-                    ts.toLocalDateTime().getDayOfMonth(),
-                    ts.toLocalDateTime().getHour(),
-                    ts.toLocalDateTime().getMinute(),
-                    ts.toLocalDateTime().getSecond(),
-                    ts.toLocalDateTime().getNano(),
-                    ZoneOffset.UTC);
-        } else {
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    public OffsetDateTime asOffsetDateTime(long epochMillis) {
+        if (epochMillis == 0) {
             return null;
         }
+        LocalDateTime utc = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, MILLIS_PER_SECOND),
+                (int) Math.floorMod(epochMillis, MILLIS_PER_SECOND) * NANOS_PER_MILLI, ZoneOffset.UTC);
+        return OffsetDateTime.of(utc, ZoneOffset.UTC);
     }
 
-    public Timestamp asTimeStamp(OffsetDateTime offsetDateTime) {
-        if (offsetDateTime != null) {
-            return Timestamp.valueOf(
-                    offsetDateTime
-                            .atZoneSameInstant(ZoneOffset.UTC)
-                            .toLocalDateTime());
-        } else {
-            return null;
+    public long asEpochMillis(OffsetDateTime offsetDateTime) {
+        if (offsetDateTime == null) {
+            return 0;
         }
+        return offsetDateTime.toEpochSecond() * MILLIS_PER_SECOND + offsetDateTime.getNano() / NANOS_PER_MILLI;
     }
 }
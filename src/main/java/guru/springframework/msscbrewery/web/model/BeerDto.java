@@ -1,5 +1,7 @@
 package guru.springframework.msscbrewery.web.model;
 
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import guru.springframework.msscbrewery.web.model.v2.ValueOfEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +27,7 @@ public class BeerDto {
     @NotBlank
     private String beerName;
     @NotBlank
+    @ValueOfEnum(enumClass = BeerStyleEnum.class)
     private String beerStyle;
 
     @Positive
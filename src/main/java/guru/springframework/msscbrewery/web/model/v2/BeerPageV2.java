@@ -0,0 +1,21 @@
+package guru.springframework.msscbrewery.web.model.v2;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerPageV2 {
+    private List<BeerDtoV2> content;
+
+    /**
+     * Opaque token to pass back as {@code cursor} for the next page; null on the last page.
+     */
+    private String nextCursor;
+}
@@ -16,6 +16,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 public @interface ValueOfEnum {
     Class<? extends Enum<?>> enumClass();
 
+    /**
+     * Also accept the constant names in any letter case.
+     */
+    boolean ignoreCase() default false;
+
     String message() default "must be any of enum {enumClass}";
 
     Class<?>[] groups() default {};
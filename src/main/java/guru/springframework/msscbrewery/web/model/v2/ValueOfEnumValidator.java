@@ -2,18 +2,33 @@ package guru.springframework.msscbrewery.web.model.v2;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Checks a {@link CharSequence} against the constant names of {@link ValueOfEnum#enumClass()} with an open
+ * addressing hash table over the names. Tables are built once per enum class and matching mode and shared by
+ * all validator instances; lookups hash and compare the sequence in place, without {@code toString()}.
+ */
 public class ValueOfEnumValidator implements ConstraintValidator<ValueOfEnum, CharSequence> {
-    private List<String> acceptedValues;
+
+    private static final ClassValue<NameTable> EXACT = new ClassValue<NameTable>() {
+        @Override
+        protected NameTable computeValue(Class<?> type) {
+            return new NameTable(type.getEnumConstants(), false);
+        }
+    };
+
+    private static final ClassValue<NameTable> IGNORE_CASE = new ClassValue<NameTable>() {
+        @Override
+        protected NameTable computeValue(Class<?> type) {
+            return new NameTable(type.getEnumConstants(), true);
+        }
+    };
+
+    private NameTable acceptedValues;
 
     @Override
     public void initialize(ValueOfEnum annotation) {
-        acceptedValues = Stream.of(annotation.enumClass().getEnumConstants())
-                .map(Enum::name)
-                .collect(Collectors.toList());
+        acceptedValues = (annotation.ignoreCase() ? IGNORE_CASE : EXACT).get(annotation.enumClass());
     }
 
     @Override
@@ -22,6 +37,63 @@ public class ValueOfEnumValidator implements ConstraintValidator<ValueOfEnum, Ch
             return true;
         }
 
-        return acceptedValues.contains(value.toString());
+        return acceptedValues.contains(value);
+    }
+
+    static final class NameTable {
+
+        private final String[] slots;
+        private final int mask;
+        private final boolean ignoreCase;
+
+        NameTable(Object[] constants, boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            this.slots = new String[Integer.highestOneBit(Math.max(constants.length, 1) * 4 - 1) << 1];
+            this.mask = slots.length - 1;
+            for (Object constant : constants) {
+                String name = ((Enum<?>) constant).name();
+                int slot = hash(name) & mask;
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = name;
+            }
+        }
+
+        boolean contains(CharSequence value) {
+            int slot = hash(value) & mask;
+            for (String name = slots[slot]; name != null; name = slots[slot = (slot + 1) & mask]) {
+                if (matches(name, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int hash(CharSequence value) {
+            int h = 0;
+            for (int i = 0; i < value.length(); i++) {
+                h = 31 * h + fold(value.charAt(i));
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private boolean matches(String name, CharSequence value) {
+            if (name.length() != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char expected = name.charAt(i);
+                char actual = value.charAt(i);
+                if (expected != actual && (!ignoreCase || fold(expected) != fold(actual))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private char fold(char c) {
+            return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+        }
     }
 }
@@ -0,0 +1,174 @@
+package guru.springframework.msscbrewery.web.reactive;
+
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.services.V2.ReactiveBeerServiceV2;
+import guru.springframework.msscbrewery.web.controller.BatchIngester;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import guru.springframework.msscbrewery.web.tracing.PhaseTracingWebFilter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Handlers behind {@link BeerRoutesV2}, answering with the same status codes and bodies as
+ * {@link guru.springframework.msscbrewery.web.controller.v2.BeerControllerV2}. A GET on the collection that
+ * accepts {@code application/stream+json} or NDJSON streams the whole catalog instead of returning a page.
+ */
+public class BeerHandlerV2 {
+
+    static final MediaType NDJSON = MediaType.parseMediaType(BatchIngester.NDJSON_VALUE);
+
+    private static final String LOCATION_BASE = "/api/v2/beer/";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final ParameterizedTypeReference<Map<String, Object>> RESULT =
+            new ParameterizedTypeReference<Map<String, Object>>() {
+            };
+
+    private final ReactiveBeerServiceV2 beerService;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BeerHandlerV2(ReactiveBeerServiceV2 beerService, Validator validator, int chunkSize) {
+        this.beerService = beerService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public Mono<ServerResponse> listBeers(ServerRequest request) {
+        List<MediaType> accept = request.headers().accept();
+        if (accept.contains(MediaType.APPLICATION_STREAM_JSON) || accept.contains(NDJSON)) {
+            MediaType contentType = accept.contains(NDJSON) ? NDJSON : MediaType.APPLICATION_STREAM_JSON;
+            return ServerResponse.ok().contentType(contentType).body(beerService.listBeers(), BeerDtoV2.class);
+        }
+
+        int pageSize = request.queryParam("pageSize").map(Integer::parseInt).orElse(25);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ServerResponse.badRequest().syncBody(
+                    List.of("listBeers.pageSize : must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        BeerQuery query = BeerQuery.builder()
+                .beerStyle(request.queryParam("beerStyle").map(BeerStyleEnum::valueOf).orElse(null))
+                .namePrefix(request.queryParam("namePrefix").orElse(null))
+                .upcFrom(request.queryParam("upcFrom").map(Long::valueOf).orElse(null))
+                .upcTo(request.queryParam("upcTo").map(Long::valueOf).orElse(null))
+                .build();
+        return beerService.listBeers(query, request.queryParam("cursor").orElse(null), pageSize)
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .syncBody(page));
+    }
+
+    public Mono<ServerResponse> getBeer(ServerRequest request) {
+        return beerService.getBeerById(beerId(request))
+                .flatMap(beer -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON_UTF8).syncBody(beer));
+    }
+
+    public Mono<ServerResponse> createBeer(ServerRequest request) {
+        return validated(request, beerDto -> beerService.saveNewBeer(beerDto)
+                .flatMap(saved -> ServerResponse.created(URI.create(LOCATION_BASE + saved.getId())).build()));
+    }
+
+    public Mono<ServerResponse> updateBeer(ServerRequest request) {
+        UUID beerId = beerId(request);
+        return validated(request, beerDto -> beerService.updateBeer(beerId, beerDto)
+                .then(ServerResponse.noContent().build()));
+    }
+
+    public Mono<ServerResponse> deleteBeer(ServerRequest request) {
+        return beerService.deleteById(beerId(request)).then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Same result objects as {@link BatchIngester}: items are decoded as they arrive, invalid ones are
+     * answered immediately and valid ones are saved a chunk at a time.
+     */
+    public Mono<ServerResponse> createBeers(ServerRequest request) {
+        AtomicLong decoded = new AtomicLong();
+        Flux<Map<String, Object>> results = request.bodyToFlux(BeerDtoV2.class)
+                .doOnNext(beerDto -> decoded.incrementAndGet())
+                .index()
+                .buffer(chunkSize)
+                .concatMap(this::ingestChunk)
+                .onErrorResume(e -> Mono.just(result(decoded.get(), 400, "errors", List.of(e.getMessage()))));
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(BodyInserters.fromPublisher(results, RESULT));
+    }
+
+    private Flux<Map<String, Object>> ingestChunk(List<Tuple2<Long, BeerDtoV2>> chunk) {
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        List<Long> indexes = new ArrayList<>(chunk.size());
+        List<BeerDtoV2> valid = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, BeerDtoV2> item : chunk) {
+            List<String> errors = violations(item.getT2());
+            if (errors.isEmpty()) {
+                indexes.add(item.getT1());
+                valid.add(item.getT2());
+            } else {
+                rejected.add(result(item.getT1(), 400, "errors", errors));
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromIterable(rejected);
+        }
+        return Flux.fromIterable(rejected).concatWith(beerService.saveNewBeers(valid)
+                .index()
+                .map(saved -> result(indexes.get(saved.getT1().intValue()), 201,
+                        "location", LOCATION_BASE + saved.getT2().getId())));
+    }
+
+    private Mono<ServerResponse> validated(ServerRequest request,
+                                           Function<BeerDtoV2, Mono<ServerResponse>> handler) {
+        return PhaseTracingWebFilter.deserializing(request, request.bodyToMono(BeerDtoV2.class))
+                .flatMap(beerDto -> {
+                    long validateStart = System.nanoTime();
+                    List<String> errors = violations(beerDto);
+                    PhaseTracingWebFilter.validated(request, System.nanoTime() - validateStart);
+                    return errors.isEmpty() ? handler.apply(beerDto) : ServerResponse.badRequest().syncBody(errors);
+                })
+                .switchIfEmpty(ServerResponse.badRequest().syncBody(List.of("Required request body is missing")));
+    }
+
+    /**
+     * Rendered like the servlet controller's {@code MethodArgumentNotValidException} handler, e.g.
+     * {@code "NotBlank.beerDtoV2.beerName : must not be blank"}.
+     */
+    private List<String> violations(BeerDtoV2 beerDto) {
+        Set<ConstraintViolation<BeerDtoV2>> violations = validator.validate(beerDto);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<BeerDtoV2> violation : violations) {
+            errors.add(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName()
+                    + ".beerDtoV2." + violation.getPropertyPath() + " : " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static UUID beerId(ServerRequest request) {
+        return UUID.fromString(request.pathVariable("beerId"));
+    }
+
+    private static Map<String, Object> result(long index, int status, String key, Object value) {
+        Map<String, Object> result = new LinkedHashMap<>(4);
+        result.put("index", index);
+        result.put("status", status);
+        result.put(key, value);
+        return result;
+    }
+}
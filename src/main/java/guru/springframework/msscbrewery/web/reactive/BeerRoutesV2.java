@@ -0,0 +1,44 @@
+package guru.springframework.msscbrewery.web.reactive;
+
+import guru.springframework.msscbrewery.services.NotFoundException;
+import guru.springframework.msscbrewery.services.V2.InvalidCursorException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * The {@code /api/v2/beer} contract as WebFlux functional routes, with exceptions mapped to the statuses the
+ * servlet stack uses.
+ */
+public final class BeerRoutesV2 {
+
+    private BeerRoutesV2() {
+    }
+
+    public static RouterFunction<ServerResponse> routes(BeerHandlerV2 handler) {
+        return route(GET("/api/v2/beer"), handler::listBeers)
+                .andRoute(GET("/api/v2/beer/{beerId}"), handler::getBeer)
+                .andRoute(POST("/api/v2/beer/batch")
+                                .and(contentType(MediaType.APPLICATION_JSON, BeerHandlerV2.NDJSON)),
+                        handler::createBeers)
+                .andRoute(POST("/api/v2/beer"), handler::createBeer)
+                .andRoute(PUT("/api/v2/beer/{beerId}"), handler::updateBeer)
+                .andRoute(DELETE("/api/v2/beer/{beerId}"), handler::deleteBeer)
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(NotFoundException.class,
+                                e -> ServerResponse.status(HttpStatus.NOT_FOUND).syncBody(e.getMessage()))
+                        .onErrorResume(InvalidCursorException.class,
+                                e -> ServerResponse.badRequest().syncBody(e.getMessage()))
+                        .onErrorResume(IllegalArgumentException.class,
+                                e -> ServerResponse.badRequest().syncBody(e.getMessage())));
+    }
+}
@@ -0,0 +1,78 @@
+package guru.springframework.msscbrewery.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.services.V2.ReactiveBeerServiceV2;
+import guru.springframework.msscbrewery.web.tracing.PhaseTracingWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import javax.validation.Validator;
+import java.util.List;
+
+/**
+ * With {@code brewery.reactive.enabled=true}, serves the v2 beer API a second time from WebFlux on Reactor
+ * Netty ({@code brewery.reactive.port}, default 8081). The application itself stays a servlet application;
+ * both stacks share the services, repositories, caches and the Jackson configuration, so the same benchmark
+ * can be pointed at either port.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "brewery.reactive", name = "enabled", havingValue = "true")
+public class ReactiveV2Config {
+
+    @Bean
+    public BeerHandlerV2 beerHandlerV2(ReactiveBeerServiceV2 beerService, Validator validator,
+                                       @Value("${brewery.batch.chunk-size:500}") int chunkSize) {
+        return new BeerHandlerV2(beerService, validator, chunkSize);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> beerRoutesV2(BeerHandlerV2 beerHandlerV2) {
+        return BeerRoutesV2.routes(beerHandlerV2);
+    }
+
+    /**
+     * With {@code brewery.tracing.enabled=true} the routes are traced by the same phase timers, Flight Recorder
+     * events and slow request log as the servlet endpoints.
+     */
+    @Bean
+    public ReactiveV2Server reactiveV2Server(RouterFunction<ServerResponse> beerRoutesV2, ObjectMapper objectMapper,
+                                             ObjectProvider<PhaseTracingWebFilter> tracing,
+                                             @Value("${brewery.reactive.host:0.0.0.0}") String host,
+                                             @Value("${brewery.reactive.port:8081}") int port) {
+        PhaseTracingWebFilter tracingFilter = tracing.getIfAvailable();
+        if (tracingFilter == null) {
+            return new ReactiveV2Server(RouterFunctions.toHttpHandler(beerRoutesV2, strategies(objectMapper)),
+                    host, port);
+        }
+        HandlerStrategies strategies = strategiesBuilder(objectMapper).webFilter(tracingFilter).build();
+        return new ReactiveV2Server(RouterFunctions.toHttpHandler(beerRoutesV2.filter(tracingFilter), strategies),
+                host, port);
+    }
+
+    static HandlerStrategies strategies(ObjectMapper objectMapper) {
+        return strategiesBuilder(objectMapper).build();
+    }
+
+    private static HandlerStrategies.Builder strategiesBuilder(ObjectMapper objectMapper) {
+        Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"), BeerHandlerV2.NDJSON);
+        encoder.setStreamingMediaTypes(List.of(MediaType.APPLICATION_STREAM_JSON, BeerHandlerV2.NDJSON));
+        Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"), BeerHandlerV2.NDJSON);
+        return HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(encoder);
+                    codecs.defaultCodecs().jackson2JsonDecoder(decoder);
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a finished {@link RequestTrace} on the {@code brewery.request.phase} timers, commits its Flight
+ * Recorder event and offers the request to the slow request log. Shared by the servlet interceptor and the
+ * reactive filter so both stacks report into the same meters.
+ */
+class PhaseRecorder {
+
+    private final SlowRequestLog slowRequests;
+    private final Timer deserialize;
+    private final Timer validate;
+    private final Timer service;
+    private final Timer serialize;
+
+    PhaseRecorder(SlowRequestLog slowRequests, MeterRegistry meterRegistry) {
+        this.slowRequests = slowRequests;
+        this.deserialize = phaseTimer(meterRegistry, "deserialize");
+        this.validate = phaseTimer(meterRegistry, "validate");
+        this.service = phaseTimer(meterRegistry, "service");
+        this.serialize = phaseTimer(meterRegistry, "serialize");
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("brewery.request.phase").tag("phase", phase).register(meterRegistry);
+    }
+
+    void record(RequestTrace trace, String method, String uri, int status) {
+        long end = System.nanoTime();
+        long serviceNanos = trace.serviceNanos(end);
+        long serializeNanos = trace.serializeNanos(end);
+
+        deserialize.record(trace.deserializeNanos, TimeUnit.NANOSECONDS);
+        validate.record(trace.validateNanos, TimeUnit.NANOSECONDS);
+        service.record(serviceNanos, TimeUnit.NANOSECONDS);
+        serialize.record(serializeNanos, TimeUnit.NANOSECONDS);
+
+        RequestPhasesEvent event = trace.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.uri = uri;
+            event.status = status;
+            event.deserialize = trace.deserializeNanos;
+            event.validate = trace.validateNanos;
+            event.service = serviceNanos;
+            event.serialize = serializeNanos;
+            event.commit();
+        }
+
+        long total = end - trace.start;
+        if (slowRequests.accepts(total)) {
+            slowRequests.add(new SlowRequest(System.currentTimeMillis(), method, uri, status, total,
+                    trace.deserializeNanos, trace.validateNanos, serviceNanos, serializeNanos));
+        }
+    }
+}
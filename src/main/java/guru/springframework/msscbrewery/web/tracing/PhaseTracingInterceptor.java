@@ -0,0 +1,34 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link RequestTrace} before the handler runs and, once the response is complete, hands it to the
+ * {@link PhaseRecorder}.
+ */
+class PhaseTracingInterceptor implements HandlerInterceptor {
+
+    private final PhaseRecorder recorder;
+
+    PhaseTracingInterceptor(PhaseRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTrace.open();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTrace.close();
+        if (trace != null) {
+            recorder.record(trace, request.getMethod(), request.getRequestURI(), response.getStatus());
+        }
+    }
+}
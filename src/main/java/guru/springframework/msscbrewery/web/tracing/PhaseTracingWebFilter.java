@@ -0,0 +1,81 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of {@link PhaseTracingInterceptor} and {@link PhaseTracingAdvice} for the WebFlux
+ * routes on the Netty port. As a {@link WebFilter} it keeps a {@link RequestTrace} in the exchange attributes
+ * for the whole exchange and records it once the response is written; as a {@link HandlerFilterFunction} it
+ * marks where the handler has produced its response and writing starts. The handlers report reading and
+ * validating the body through {@link #deserializing} and {@link #validated}, which do nothing when tracing is
+ * off.
+ */
+public class PhaseTracingWebFilter implements WebFilter, HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String TRACE_ATTRIBUTE = RequestTrace.class.getName();
+
+    private final PhaseRecorder recorder;
+
+    PhaseTracingWebFilter(PhaseRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String uri = request.getPath().value();
+        if (!uri.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        RequestTrace trace = RequestTrace.detached();
+        exchange.getAttributes().put(TRACE_ATTRIBUTE, trace);
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatus status = exchange.getResponse().getStatusCode();
+            recorder.record(trace, request.getMethodValue(), uri, status == null ? 200 : status.value());
+        });
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return next.handle(request).doOnSuccess(response -> {
+            RequestTrace trace = trace(request);
+            if (trace != null) {
+                trace.bodyWriteStarted();
+            }
+        });
+    }
+
+    /**
+     * Times {@code body} from subscription until it signals the decoded value as the deserialize phase of the
+     * request. The phase ends before the value is handed downstream; {@code doFinally} would only run once the
+     * whole handler chain had completed, after the exchange was already recorded.
+     */
+    public static <T> Mono<T> deserializing(ServerRequest request, Mono<T> body) {
+        RequestTrace trace = trace(request);
+        if (trace == null) {
+            return body;
+        }
+        return body.doOnSubscribe(subscription -> trace.bodyReadStarted())
+                .doOnSuccessOrError((value, error) -> trace.bodyReadFinished());
+    }
+
+    public static void validated(ServerRequest request, long nanos) {
+        RequestTrace trace = trace(request);
+        if (trace != null) {
+            trace.validated(nanos);
+        }
+    }
+
+    private static RequestTrace trace(ServerRequest request) {
+        return (RequestTrace) request.attribute(TRACE_ATTRIBUTE).orElse(null);
+    }
+}
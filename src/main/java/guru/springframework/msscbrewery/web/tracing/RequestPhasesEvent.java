@@ -0,0 +1,46 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning one traced request, with the time spent in each phase. Disabled events cost a
+ * check; give it a threshold in the recording settings to keep only slow requests.
+ */
+@Name("guru.springframework.msscbrewery.Request")
+@Label("Brewery Request")
+@Category("Brewery")
+@Description("An API request split into deserialize, validate, service and serialize phases")
+@StackTrace(false)
+class RequestPhasesEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("Deserialize")
+    @Timespan(Timespan.NANOSECONDS)
+    long deserialize;
+
+    @Label("Validate")
+    @Timespan(Timespan.NANOSECONDS)
+    long validate;
+
+    @Label("Service")
+    @Timespan(Timespan.NANOSECONDS)
+    long service;
+
+    @Label("Serialize")
+    @Timespan(Timespan.NANOSECONDS)
+    long serialize;
+}
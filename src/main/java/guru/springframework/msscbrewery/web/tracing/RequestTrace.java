@@ -0,0 +1,79 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+/**
+ * Phase timings of the request running on the current thread. The interceptor opens it before the handler
+ * and closes it after the response is written; the body advice and the validator add to it in between.
+ * Reactive requests hop threads, so {@link PhaseTracingWebFilter} keeps a {@link #detached()} trace in the
+ * exchange attributes instead. Everything is {@link System#nanoTime()} based; phases that did not happen stay zero.
+ */
+final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    final long start;
+    final RequestPhasesEvent event;
+    long readStart;
+    long deserializeNanos;
+    long validateNanos;
+    long writeStart;
+
+    private RequestTrace(long start) {
+        this.start = start;
+        this.event = new RequestPhasesEvent();
+    }
+
+    static RequestTrace open() {
+        RequestTrace trace = detached();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static RequestTrace detached() {
+        RequestTrace trace = new RequestTrace(System.nanoTime());
+        trace.event.begin();
+        return trace;
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace close() {
+        RequestTrace trace = CURRENT.get();
+        CURRENT.remove();
+        return trace;
+    }
+
+    void bodyReadStarted() {
+        readStart = System.nanoTime();
+    }
+
+    void bodyReadFinished() {
+        if (readStart != 0) {
+            deserializeNanos += System.nanoTime() - readStart;
+            readStart = 0;
+        }
+    }
+
+    void validated(long nanos) {
+        validateNanos += nanos;
+    }
+
+    void bodyWriteStarted() {
+        if (writeStart == 0) {
+            writeStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Time spent in the handler and everything else that is neither reading, validating nor writing the body.
+     */
+    long serviceNanos(long end) {
+        long handled = (writeStart != 0 ? writeStart : end) - start;
+        return Math.max(0, handled - deserializeNanos - validateNanos);
+    }
+
+    long serializeNanos(long end) {
+        return writeStart != 0 ? end - writeStart : 0;
+    }
+}
@@ -0,0 +1,20 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import lombok.Value;
+
+/**
+ * One entry of the slow request log; all durations are in nanoseconds.
+ */
+@Value
+public class SlowRequest {
+
+    long timestamp;
+    String method;
+    String uri;
+    int status;
+    long totalNanos;
+    long deserializeNanos;
+    long validateNanos;
+    long serviceNanos;
+    long serializeNanos;
+}
@@ -0,0 +1,60 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent slow requests. Writers claim a slot with one atomic increment and never
+ * block each other; a reader gets a best-effort copy, newest first.
+ */
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowRequestLog(long thresholdNanos, int capacity, double sampleRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.thresholdNanos = thresholdNanos;
+        this.sampleRate = sampleRate;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Whether a request of this length should be logged: it is slow and falls into the sample.
+     */
+    boolean accepts(long totalNanos) {
+        return totalNanos >= thresholdNanos
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    void add(SlowRequest request) {
+        long seq = sequence.getAndIncrement();
+        slots.set((int) (seq % slots.length()), request);
+    }
+
+    public List<SlowRequest> snapshot() {
+        long last = sequence.get();
+        int count = (int) Math.min(last, slots.length());
+        List<SlowRequest> requests = new ArrayList<>(count);
+        for (long seq = last - 1; seq >= last - count; seq--) {
+            SlowRequest request = slots.get((int) (seq % slots.length()));
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
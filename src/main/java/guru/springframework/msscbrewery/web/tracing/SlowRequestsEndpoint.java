@@ -0,0 +1,30 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowrequests}: the sampled slow requests with their phase breakdown, newest first.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog log;
+
+    public SlowRequestsEndpoint(SlowRequestLog log) {
+        this.log = log;
+    }
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return log.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        log.clear();
+    }
+}
@@ -0,0 +1,69 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Opt-in per-phase tracing of the API requests: deserialize, validate, service and serialize, recorded as
+ * timers, Flight Recorder events and a sampled log of slow requests behind {@code /actuator/slowrequests}.
+ * Covers both the servlet endpoints and the reactive v2 routes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "brewery.tracing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig implements WebMvcConfigurer {
+
+    private final TracingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<javax.validation.Validator> validator;
+
+    public TracingConfig(TracingProperties properties, MeterRegistry meterRegistry,
+                         ObjectProvider<javax.validation.Validator> validator) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.validator = validator;
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog() {
+        return new SlowRequestLog(properties.getSlowThreshold().toNanos(), properties.getCapacity(),
+                properties.getSampleRate());
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestsEndpoint(slowRequestLog);
+    }
+
+    @Bean
+    PhaseRecorder phaseRecorder() {
+        return new PhaseRecorder(slowRequestLog(), meterRegistry);
+    }
+
+    /**
+     * Picked up by the reactive v2 server when {@code brewery.reactive.enabled=true}.
+     */
+    @Bean
+    public PhaseTracingWebFilter phaseTracingWebFilter() {
+        return new PhaseTracingWebFilter(phaseRecorder());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PhaseTracingInterceptor(phaseRecorder())).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public Validator getValidator() {
+        javax.validation.Validator target = validator.getIfUnique();
+        return target == null ? null : new TracingValidator(new SpringValidatorAdapter(target));
+    }
+}
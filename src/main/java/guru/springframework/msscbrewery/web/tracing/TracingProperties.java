@@ -0,0 +1,26 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "brewery.tracing")
+public class TracingProperties {
+
+    /**
+     * Requests taking at least this long are candidates for the slow request log.
+     */
+    private Duration slowThreshold = Duration.ofMillis(250);
+
+    /**
+     * Number of slow requests kept; the oldest entry is overwritten first.
+     */
+    private int capacity = 256;
+
+    /**
+     * Fraction of slow requests that are logged, between 0 and 1.
+     */
+    private double sampleRate = 1.0;
+}
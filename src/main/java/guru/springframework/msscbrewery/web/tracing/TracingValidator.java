@@ -0,0 +1,49 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * The MVC validator, timed into the current {@link RequestTrace}; this is where {@code @Valid} bodies and
+ * constraints such as {@code ValueOfEnum} are checked.
+ */
+class TracingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    TracingValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            record(start);
+        }
+    }
+
+    private static void record(long start) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.validated(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package guru.springframework.msscbrewery.metrics;
+
+import guru.springframework.msscbrewery.services.CustomerService;
+import guru.springframework.msscbrewery.services.NotFoundException;
+import guru.springframework.msscbrewery.web.model.CustomerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MeteredBeanPostProcessorTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MeteredBeanPostProcessor postProcessor = new MeteredBeanPostProcessor(
+            new StaticListableBeanFactory(Collections.singletonMap("meterRegistry", registry))
+                    .getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void timesEveryInterfaceMethod() {
+        CustomerService target = mock(CustomerService.class);
+        given(target.getCustomerById(any())).willReturn(CustomerDto.builder().name("Jane").build());
+
+        CustomerService service = (CustomerService) postProcessor.postProcessAfterInitialization(target, "customerService");
+
+        assertThat(registry.find("brewery.service").tag("bean", "customerService").timers()).isNotEmpty();
+        assertThat(service.getCustomerById(UUID.randomUUID()).getName()).isEqualTo("Jane");
+        Timer timer = registry.get("brewery.service").tag("method", "getCustomerById").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rethrowsTargetExceptions() {
+        CustomerService target = mock(CustomerService.class);
+        given(target.getCustomerById(any())).willThrow(new NotFoundException("Customer", UUID.randomUUID()));
+
+        CustomerService service = (CustomerService) postProcessor.postProcessAfterInitialization(target, "customerService");
+
+        assertThatThrownBy(() -> service.getCustomerById(UUID.randomUUID())).isInstanceOf(NotFoundException.class);
+        assertThat(registry.get("brewery.service").tag("method", "getCustomerById").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesOtherBeansAlone() {
+        Object bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+}
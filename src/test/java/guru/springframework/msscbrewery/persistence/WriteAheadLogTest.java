@@ -0,0 +1,176 @@
+package guru.springframework.msscbrewery.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteAheadLogTest {
+
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void recordsSurviveReopen() throws Exception {
+        UUID id = UUID.randomUUID();
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 0)) {
+            CompletableFuture.allOf(
+                    log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("v1")),
+                    log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("v2")),
+                    log.append(JournalRecord.Operation.DELETE, "beer", id, new byte[0])).join();
+        }
+
+        List<JournalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 0)) {
+            log.replay(1, replayed::add);
+        }
+
+        assertThat(replayed).extracting(JournalRecord::getSequence).containsExactly(2L, 3L);
+        assertThat(replayed).extracting(JournalRecord::getOperation)
+                .containsExactly(JournalRecord.Operation.SAVE, JournalRecord.Operation.DELETE);
+        assertThat(new String(replayed.get(0).getPayload(), StandardCharsets.UTF_8)).isEqualTo("v2");
+    }
+
+    @Test
+    void oversizedLengthPrefixIsTreatedAsTornTail() throws Exception {
+        UUID id = UUID.randomUUID();
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 0)) {
+            log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("v1")).join();
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        long validBytes = Files.size(segment);
+        ByteBuffer corrupt = ByteBuffer.allocate(16).putInt(Integer.MAX_VALUE - 8).putInt(0).putLong(2);
+        Files.write(segment, corrupt.array(), StandardOpenOption.APPEND);
+
+        List<JournalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 0)) {
+            log.replay(0, replayed::add);
+        }
+
+        assertThat(replayed).extracting(JournalRecord::getSequence).containsExactly(1L);
+        assertThat(Files.size(segment)).isEqualTo(validBytes);
+    }
+
+    @Test
+    void compactionKeepsOnlyLatestStatePerEntity() throws Exception {
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("snapshots"));
+        List<UUID> ids = IntStream.range(0, 3).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("wal"), 1 << 20, 0)) {
+            for (UUID id : ids) {
+                log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("old"));
+                log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("new"));
+            }
+            log.append(JournalRecord.Operation.DELETE, "beer", ids.get(0), new byte[0]);
+            log.roll().join();
+            snapshots.compact(log);
+            log.append(JournalRecord.Operation.SAVE, "beer", ids.get(1), bytes("tail")).join();
+
+            assertThat(log.sealedSegments()).isEmpty();
+        }
+
+        List<JournalRecord> restored = new ArrayList<>();
+        long snapshotSequence = snapshots.load(restored::add);
+        assertThat(snapshotSequence).isEqualTo(7);
+        assertThat(restored).extracting(JournalRecord::getId).containsExactlyInAnyOrder(ids.get(1), ids.get(2));
+        assertThat(restored).allMatch(record -> "new".equals(new String(record.getPayload(), StandardCharsets.UTF_8)));
+
+        List<JournalRecord> tail = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("wal"), 1 << 20, snapshots.latestSequence())) {
+            log.replay(snapshotSequence, tail::add);
+        }
+        assertThat(tail).extracting(JournalRecord::getSequence).containsExactly(8L);
+    }
+
+    @Test
+    void compactionRacingRollsKeepsAcknowledgedRecords() throws Exception {
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("snapshots"));
+        List<UUID> ids = IntStream.range(0, 500).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("wal"), 256, 0)) {
+            CompletableFuture<Void> compactor = CompletableFuture.runAsync(() -> {
+                while (writing.get()) {
+                    try {
+                        snapshots.compact(log);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            for (UUID id : ids) {
+                log.append(JournalRecord.Operation.SAVE, "beer", id, bytes("v1")).join();
+                log.roll();
+            }
+            writing.set(false);
+            compactor.join();
+        }
+
+        Set<UUID> recovered = new HashSet<>();
+        long snapshotSequence = snapshots.load(record -> recovered.add(record.getId()));
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("wal"), 256, snapshots.latestSequence())) {
+            log.replay(snapshotSequence, record -> recovered.add(record.getId()));
+        }
+        assertThat(recovered).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void stoppedFlusherFailsQueuedWritesAndRefusesNewOnes() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 0)) {
+            List<CompletableFuture<Void>> appended = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                appended.add(log.append(JournalRecord.Operation.SAVE, "beer", UUID.randomUUID(), bytes("v" + i)));
+            }
+            Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals("wal-flusher") && thread.isAlive())
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new);
+
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertThat(flusher.isAlive()).isFalse();
+            assertThat(appended).allMatch(CompletableFuture::isDone);
+            assertThatThrownBy(() -> log.append(JournalRecord.Operation.DELETE, "beer", UUID.randomUUID(),
+                    new byte[0])).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package guru.springframework.msscbrewery.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerNameIndexTest {
+
+    CustomerNameIndex index = new CustomerNameIndex();
+
+    @Test
+    void renameChurnDropsEmptiedKeys() {
+        UUID id = UUID.randomUUID();
+        index.add(id, "Joe Buck");
+        int keys = index.keyCount();
+
+        String name = "Joe Buck";
+        for (int i = 0; i < 100; i++) {
+            String renamed = "Customer " + i;
+            index.remove(id, name);
+            index.add(id, renamed);
+            name = renamed;
+        }
+        index.remove(id, name);
+        index.add(id, "Joe Buck");
+
+        assertThat(index.keyCount()).isEqualTo(keys);
+    }
+
+    @Test
+    void sharedKeysSurviveRemovalOfOneId() {
+        UUID joe = UUID.randomUUID();
+        UUID jane = UUID.randomUUID();
+        index.add(joe, "Joe Buck");
+        index.add(jane, "Jane Buck");
+
+        index.remove(joe, "Joe Buck");
+
+        List<UUID> found = new ArrayList<>();
+        index.forEachPrefix("buck", found::add);
+        assertThat(found).containsExactly(jane);
+        assertThat(index.candidates("uck")).containsExactly(jane);
+    }
+}
@@ -0,0 +1,126 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryBeerRepositoryTest {
+
+    InMemoryBeerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryBeerRepository();
+    }
+
+    @Test
+    void saveAndFindById() {
+        Beer beer = beer(UUID.randomUUID(), 1L, BeerStyleEnum.ALE);
+        repository.save(beer);
+
+        assertThat(repository.findById(beer.getId())).contains(beer);
+        assertThat(repository.findById(UUID.randomUUID())).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMovesSecondaryIndexEntries() {
+        UUID id = UUID.randomUUID();
+        repository.save(beer(id, 1L, BeerStyleEnum.ALE));
+        repository.save(beer(id, 2L, BeerStyleEnum.IPA));
+
+        assertThat(repository.findByUpc(1L)).isEmpty();
+        assertThat(repository.findByBeerStyle(BeerStyleEnum.ALE)).isEmpty();
+        assertThat(repository.findByUpc(2L)).extracting(Beer::getId).containsExactly(id);
+        assertThat(repository.findByBeerStyle(BeerStyleEnum.IPA)).extracting(Beer::getId).containsExactly(id);
+    }
+
+    @Test
+    void replaceKeepsDeletedBeersDeleted() {
+        UUID id = UUID.randomUUID();
+        repository.save(beer(id, 1L, BeerStyleEnum.ALE));
+
+        assertThat(repository.replace(id, current -> beer(id, 2L, current.getBeerStyle()), null))
+                .map(Beer::getVersion).contains(2L);
+        assertThat(repository.findByUpc(2L)).extracting(Beer::getId).containsExactly(id);
+
+        repository.deleteById(id);
+        assertThat(repository.replace(id, current -> beer(id, 3L, BeerStyleEnum.IPA), null)).isEmpty();
+        assertThat(repository.findById(id)).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void deleteRemovesFromAllIndexes() {
+        UUID id = UUID.randomUUID();
+        repository.save(beer(id, 1L, BeerStyleEnum.ALE));
+
+        assertThat(repository.deleteById(id)).isTrue();
+        assertThat(repository.deleteById(id)).isFalse();
+        assertThat(repository.findById(id)).isEmpty();
+        assertThat(repository.findByUpc(1L)).isEmpty();
+        assertThat(repository.findByBeerStyle(BeerStyleEnum.ALE)).isEmpty();
+    }
+
+    @Test
+    void findPageWalksNamePrefixInKeysetOrder() {
+        for (long upc = 1; upc <= 5; upc++) {
+            repository.save(beer(UUID.randomUUID(), upc, BeerStyleEnum.ALE));
+        }
+        repository.save(Beer.builder().id(UUID.randomUUID()).beerName("Other").upc(9L).build());
+        BeerQuery query = BeerQuery.builder().namePrefix("Beer").build();
+
+        List<Beer> all = new ArrayList<>();
+        BeerSortKey after = null;
+        List<Beer> page;
+        do {
+            page = repository.findPage(query, after, 2);
+            all.addAll(page);
+            after = page.isEmpty() ? null : BeerSortKey.of(page.get(page.size() - 1), query.getSortOrder());
+        } while (page.size() == 2);
+
+        assertThat(all).extracting(Beer::getBeerName)
+                .containsExactly("Beer 1", "Beer 2", "Beer 3", "Beer 4", "Beer 5");
+    }
+
+    @Test
+    void findPageByUpcRangeAppliesRemainingFilters() {
+        for (long upc = 1; upc <= 10; upc++) {
+            repository.save(beer(UUID.randomUUID(), upc, upc % 2 == 0 ? BeerStyleEnum.IPA : BeerStyleEnum.ALE));
+        }
+        BeerQuery query = BeerQuery.builder().upcFrom(3L).upcTo(8L).beerStyle(BeerStyleEnum.IPA).build();
+
+        assertThat(repository.findPage(query, null, 10)).extracting(Beer::getUpc).containsExactly(4L, 6L, 8L);
+    }
+
+    @Test
+    void findPageResumesAtKeysOutsideTheFilterRange() {
+        for (long upc = 1; upc <= 10; upc++) {
+            repository.save(beer(UUID.randomUUID(), upc, BeerStyleEnum.ALE));
+        }
+        BeerQuery query = BeerQuery.builder().upcFrom(4L).upcTo(6L).build();
+
+        assertThat(repository.findPage(query, new BeerSortKey(null, 1L, UUID.randomUUID()), 10))
+                .extracting(Beer::getUpc).containsExactly(4L, 5L, 6L);
+        assertThat(repository.findPage(query, new BeerSortKey(null, 9L, UUID.randomUUID()), 10)).isEmpty();
+
+        BeerQuery prefix = BeerQuery.builder().namePrefix("Beer 1").build();
+        assertThat(repository.findPage(prefix, new BeerSortKey("Beer 9", null, UUID.randomUUID()), 10)).isEmpty();
+    }
+
+    private static Beer beer(UUID id, Long upc, BeerStyleEnum style) {
+        return Beer.builder()
+                .id(id)
+                .beerName("Beer " + upc)
+                .upc(upc)
+                .beerStyle(style)
+                .build();
+    }
+}
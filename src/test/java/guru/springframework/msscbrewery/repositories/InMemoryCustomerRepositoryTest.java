@@ -0,0 +1,75 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCustomerRepositoryTest {
+
+    InMemoryCustomerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCustomerRepository();
+    }
+
+    @Test
+    void findsByPrefixOfAnyWord() {
+        Customer joe = save("Joe Buck");
+        Customer jane = save("Jane Bucket");
+        save("Bob Miller");
+
+        assertThat(repository.findByNamePrefix("jo", 10)).containsExactly(joe);
+        assertThat(repository.findByNamePrefix("BUCK", 10)).containsExactly(joe, jane);
+        assertThat(repository.findByNamePrefix("buck", 1)).hasSize(1);
+        assertThat(repository.findByNamePrefix("x", 10)).isEmpty();
+    }
+
+    @Test
+    void findsBySubstring() {
+        Customer joe = save("Joe Buck");
+        Customer jane = save("Jane Bucket");
+        save("Bob Miller");
+
+        assertThat(repository.findByNameContaining("uck", 10)).containsExactly(jane, joe);
+        assertThat(repository.findByNameContaining("E BU", 10)).containsExactly(jane, joe);
+        assertThat(repository.findByNameContaining("ille", 10)).extracting(Customer::getName)
+                .containsExactly("Bob Miller");
+        assertThat(repository.findByNameContaining("ucx", 10)).isEmpty();
+    }
+
+    @Test
+    void replaceKeepsDeletedCustomersDeleted() {
+        Customer joe = save("Joe Buck");
+        Customer renamed = Customer.builder().id(joe.getId()).name("Joseph Buck").build();
+
+        assertThat(repository.replace(renamed)).contains(renamed);
+
+        repository.deleteById(joe.getId());
+        assertThat(repository.replace(renamed)).isEmpty();
+        assertThat(repository.findById(joe.getId())).isEmpty();
+        assertThat(repository.findByNamePrefix("joseph", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesIndexOnRenameAndDelete() {
+        Customer joe = save("Joe Buck");
+        repository.save(Customer.builder().id(joe.getId()).name("Joseph Miller").build());
+
+        assertThat(repository.findByNamePrefix("buck", 10)).isEmpty();
+        assertThat(repository.findByNameContaining("seph", 10)).extracting(Customer::getId)
+                .containsExactly(joe.getId());
+
+        assertThat(repository.deleteById(joe.getId())).isTrue();
+        assertThat(repository.findByNamePrefix("jo", 10)).isEmpty();
+        assertThat(repository.findByNameContaining("seph", 10)).isEmpty();
+    }
+
+    private Customer save(String name) {
+        return repository.save(Customer.builder().id(UUID.randomUUID()).name(name).build());
+    }
+}
@@ -0,0 +1,154 @@
+package guru.springframework.msscbrewery.repositories;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedBeerRepositoryTest {
+
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-beers");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void recordsSurviveRemap() throws Exception {
+        Beer kept = beer("Galaxy Cat", 1L, BeerStyleEnum.IPA);
+        Beer deleted = beer("Galaxy Cat", 2L, BeerStyleEnum.ALE);
+
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            repository.save(kept);
+            repository.save(deleted);
+            assertThat(repository.deleteById(deleted.getId())).isTrue();
+        }
+
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            assertThat(repository.count()).isEqualTo(1);
+            assertThat(repository.findById(kept.getId())).contains(kept);
+            assertThat(repository.findById(deleted.getId())).isEmpty();
+            assertThat(repository.findByBeerStyle(BeerStyleEnum.IPA)).containsExactly(kept);
+            assertThat(repository.findByUpc(2L)).isEmpty();
+        }
+    }
+
+    @Test
+    void updateRewritesRecordInPlace() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            Beer beer = beer("Mango Bobo", 5L, BeerStyleEnum.GOSE);
+            repository.save(beer);
+            Beer updated = beer("Mango Bobo", 6L, null);
+            updated.setId(beer.getId());
+            repository.save(updated);
+
+            assertThat(repository.count()).isEqualTo(1);
+            assertThat(repository.findById(beer.getId())).contains(updated);
+            assertThat(repository.findByUpc(5L)).isEmpty();
+        }
+    }
+
+    @Test
+    void replaceKeepsDeletedBeersDeleted() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            Beer beer = beer("Mango Bobo", 5L, BeerStyleEnum.GOSE);
+            repository.save(beer);
+            Beer updated = beer("Mango Bobo", 6L, BeerStyleEnum.GOSE);
+            updated.setId(beer.getId());
+
+            assertThat(repository.replace(beer.getId(), current -> updated, null)).contains(updated);
+            assertThat(updated.getVersion()).isEqualTo(2L);
+
+            repository.deleteById(beer.getId());
+            assertThat(repository.replace(beer.getId(), current -> updated, null)).isEmpty();
+            assertThat(repository.findById(beer.getId())).isEmpty();
+            assertThat(repository.count()).isZero();
+        }
+    }
+
+    @Test
+    void createDeleteChurnKeepsLookupsWorking() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            Beer kept = beer("Galaxy Cat", 1L, BeerStyleEnum.IPA);
+            repository.save(kept);
+            for (long upc = 2; upc < 2000; upc++) {
+                Beer churned = beer("Mango Bobo", upc, BeerStyleEnum.GOSE);
+                repository.save(churned);
+                assertThat(repository.deleteById(churned.getId())).isTrue();
+            }
+
+            assertThat(repository.count()).isEqualTo(1);
+            assertThat(repository.findById(kept.getId())).contains(kept);
+            assertThat(repository.findById(UUID.randomUUID())).isEmpty();
+        }
+    }
+
+    @Test
+    void fullNameArenaDoesNotLeakRecordSlot() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 1, 8)) {
+            assertThrows(IllegalStateException.class,
+                    () -> repository.save(beer("A name longer than the arena", 1L, BeerStyleEnum.ALE)));
+
+            Beer fits = beer("Gose", 2L, BeerStyleEnum.GOSE);
+            repository.save(fits);
+            assertThat(repository.findById(fits.getId())).contains(fits);
+        }
+    }
+
+    @Test
+    void findPageKeepsBestMatchesInKeysetOrder() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            for (long upc = 9; upc >= 1; upc--) {
+                repository.save(beer("Beer " + upc, upc, upc % 2 == 0 ? BeerStyleEnum.IPA : BeerStyleEnum.ALE));
+            }
+            BeerQuery query = BeerQuery.builder().upcFrom(2L).upcTo(9L).build();
+
+            List<Beer> first = repository.findPage(query, null, 3);
+            assertThat(first).extracting(Beer::getUpc).containsExactly(2L, 3L, 4L);
+            BeerSortKey after = BeerSortKey.of(first.get(2), query.getSortOrder());
+            assertThat(repository.findPage(query, after, 3)).extracting(Beer::getUpc).containsExactly(5L, 6L, 7L);
+        }
+    }
+
+    @Test
+    void findAllByIdKeepsOrderAndMissingIds() throws Exception {
+        try (MappedBeerRepository repository = new MappedBeerRepository(directory, 16, 1024)) {
+            Beer first = beer("Galaxy Cat", 1L, BeerStyleEnum.IPA);
+            Beer second = beer("Mango Bobo", 2L, BeerStyleEnum.GOSE);
+            repository.save(first);
+            repository.save(second);
+
+            assertThat(repository.findAllById(List.of(second.getId(), UUID.randomUUID(), first.getId())))
+                    .containsExactly(second, null, first);
+        }
+    }
+
+    private static Beer beer(String name, Long upc, BeerStyleEnum style) {
+        long now = System.currentTimeMillis();
+        return Beer.builder()
+                .id(UUID.randomUUID())
+                .beerName(name)
+                .upc(upc)
+                .beerStyle(style)
+                .createdDate(now)
+                .lastUpdatedDate(now)
+                .build();
+    }
+}
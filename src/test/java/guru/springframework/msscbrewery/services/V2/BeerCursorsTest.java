@@ -0,0 +1,31 @@
+package guru.springframework.msscbrewery.services.V2;
+
+import guru.springframework.msscbrewery.repositories.BeerQuery;
+import guru.springframework.msscbrewery.repositories.BeerSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeerCursorsTest {
+
+    BeerQuery galaxy = BeerQuery.builder().namePrefix("Galaxy").build();
+    BeerSortKey key = new BeerSortKey("Galaxy Cat", null, UUID.randomUUID());
+
+    @Test
+    void roundTripsTheSortKey() {
+        assertThat(BeerCursors.decode(BeerCursors.encode(key, galaxy), galaxy)).isEqualTo(key);
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherFilter() {
+        String cursor = BeerCursors.encode(key, galaxy);
+
+        assertThrows(InvalidCursorException.class,
+                () -> BeerCursors.decode(cursor, BeerQuery.builder().namePrefix("Zebra").build()));
+        assertThrows(InvalidCursorException.class,
+                () -> BeerCursors.decode(cursor, BeerQuery.builder().build()));
+    }
+}
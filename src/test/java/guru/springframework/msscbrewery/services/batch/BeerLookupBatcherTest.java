@@ -0,0 +1,121 @@
+package guru.springframework.msscbrewery.services.batch;
+
+import guru.springframework.msscbrewery.domain.Beer;
+import guru.springframework.msscbrewery.repositories.InMemoryBeerRepository;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerLookupBatcherTest {
+
+    InMemoryBeerRepository repository;
+    SimpleMeterRegistry meterRegistry;
+    BeerLookupBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryBeerRepository();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    BeerLookupBatcher batcher(boolean enabled) {
+        LookupBatchingProperties properties = new LookupBatchingProperties();
+        properties.setEnabled(enabled);
+        properties.setWindow(Duration.ofMillis(2));
+        properties.setMaxBatchSize(16);
+        return new BeerLookupBatcher(repository, properties, meterRegistry);
+    }
+
+    Beer save(long upc) {
+        return repository.save(Beer.builder()
+                .id(UUID.randomUUID())
+                .beerName("Beer " + upc)
+                .beerStyle(BeerStyleEnum.ALE)
+                .upc(upc)
+                .build());
+    }
+
+    @Test
+    void disabledLooksUpDirectly() {
+        batcher = batcher(false);
+        Beer beer = save(1L);
+
+        assertThat(batcher.findById(beer.getId())).contains(beer);
+        assertThat(batcher.findById(UUID.randomUUID())).isEmpty();
+        assertThat(meterRegistry.find("brewery.lookup.batch.size").summary()).isNull();
+    }
+
+    @Test
+    void concurrentLookupsCompleteIndividually() throws Exception {
+        batcher = batcher(true);
+        List<UUID> ids = new ArrayList<>();
+        for (long upc = 1; upc <= 64; upc++) {
+            ids.add(save(upc).getId());
+            ids.add(UUID.randomUUID());
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<Beer>>> results = new ArrayList<>();
+            for (UUID id : ids) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return batcher.findById(id);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < ids.size(); i++) {
+                Optional<Beer> beer = results.get(i).get();
+                if (i % 2 == 0) {
+                    assertThat(beer).map(Beer::getId).contains(ids.get(i));
+                } else {
+                    assertThat(beer).isEmpty();
+                }
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        DistributionSummary batchSizes = meterRegistry.get("brewery.lookup.batch.size").summary();
+        assertThat(batchSizes.totalAmount()).isEqualTo(ids.size());
+        // the released callers queue within one window, so at least one batch must coalesce lookups
+        assertThat(batchSizes.count()).isLessThan(ids.size());
+        assertThat(batchSizes.max()).isGreaterThan(1).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void asyncLookupsQueueWithoutWaiting() {
+        batcher = batcher(true);
+        Beer beer = save(1L);
+
+        CompletableFuture<Optional<Beer>> found = batcher.findByIdAsync(beer.getId());
+        CompletableFuture<Optional<Beer>> missing = batcher.findByIdAsync(UUID.randomUUID());
+
+        assertThat(found.join()).contains(beer);
+        assertThat(missing.join()).isEmpty();
+    }
+}
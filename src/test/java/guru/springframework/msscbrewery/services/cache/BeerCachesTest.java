@@ -0,0 +1,37 @@
+package guru.springframework.msscbrewery.services.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerCachesTest {
+
+    BeerCaches caches = new BeerCaches(new BeerCacheProperties(), new SimpleMeterRegistry());
+    LoadingCache<UUID, String> cache = caches.register("test", id -> "single " + id);
+
+    @Test
+    void getAllUsesCachedEntriesAndDoesNotCacheBulkLoads() {
+        UUID cached = UUID.randomUUID();
+        UUID loaded = UUID.randomUUID();
+        UUID absent = UUID.randomUUID();
+        cache.get(cached);
+        List<List<UUID>> bulkLoads = new ArrayList<>();
+
+        List<String> found = BeerCaches.getAll(cache, List.of(cached, loaded, absent), missing -> {
+            bulkLoads.add(missing);
+            return Arrays.asList("bulk " + missing.get(0), null);
+        });
+
+        assertThat(found).containsExactly("single " + cached, "bulk " + loaded, null);
+        assertThat(bulkLoads).containsExactly(List.of(loaded, absent));
+        assertThat(cache.getIfPresent(loaded)).isNull();
+        assertThat(cache.getIfPresent(absent)).isNull();
+    }
+}
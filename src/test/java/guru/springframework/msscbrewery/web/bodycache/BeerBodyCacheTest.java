@@ -0,0 +1,107 @@
+package guru.springframework.msscbrewery.web.bodycache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.services.BeerStamp;
+import guru.springframework.msscbrewery.web.formats.JsonCodecs;
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerBodyCacheTest {
+
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    BodyCacheProperties properties = new BodyCacheProperties();
+    UUID beerId = UUID.randomUUID();
+    AtomicInteger loads = new AtomicInteger();
+
+    BeerBodyCache cache(int compressionThreshold) {
+        properties.setCompressionThreshold(compressionThreshold);
+        return new BeerBodyCache(properties, new JsonCodecs(objectMapper, BeerDto.class), new SimpleMeterRegistry());
+    }
+
+    BeerDto load(String name) {
+        loads.incrementAndGet();
+        return BeerDto.builder().id(beerId).beerName(name).beerStyle("IPA").upc(1L).build();
+    }
+
+    @Test
+    void servesCachedBodyWhileVersionMatches() throws Exception {
+        BeerBodyCache cache = cache(1024);
+
+        cache.get(beerId, new BeerStamp(1, 0), () -> load("First"));
+        CachedBody body = cache.get(beerId, new BeerStamp(1, 0), () -> load("Second"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(objectMapper.readValue(body.getIdentity(), BeerDto.class).getBeerName()).isEqualTo("First");
+        assertThat(body.getGzip()).isNull();
+    }
+
+    @Test
+    void reloadsOnNewVersionAndAfterInvalidate() throws Exception {
+        BeerBodyCache cache = cache(1024);
+
+        cache.get(beerId, new BeerStamp(1, 0), () -> load("First"));
+        CachedBody body = cache.get(beerId, new BeerStamp(2, 0), () -> load("Second"));
+        cache.invalidate(beerId);
+        cache.get(beerId, new BeerStamp(2, 0), () -> load("Third"));
+
+        assertThat(body.getVersion()).isEqualTo(2);
+        assertThat(objectMapper.readValue(body.getIdentity(), BeerDto.class).getBeerName()).isEqualTo("Second");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void writesGzipOnlyWhenAccepted() throws Exception {
+        BeerBodyCache cache = cache(0);
+        CachedBody body = cache.get(beerId, new BeerStamp(1, 0), () -> load("Galaxy Cat ".repeat(20)));
+        assertThat(body.getGzip()).isNotNull();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/beer/" + beerId);
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(body, request, response);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getContentLength()).isEqualTo(body.getGzip().length);
+        BeerDto written = objectMapper.readValue(
+                new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())), BeerDto.class);
+        assertThat(written.getId()).isEqualTo(beerId);
+
+        MockHttpServletResponse identity = new MockHttpServletResponse();
+        cache.write(body, new MockHttpServletRequest("GET", "/api/v1/beer/" + beerId), identity);
+
+        assertThat(identity.getHeader("Content-Encoding")).isNull();
+        assertThat(identity.getContentAsByteArray()).isEqualTo(body.getIdentity());
+    }
+
+    @Test
+    void parsesAcceptEncoding() {
+        assertThat(BeerBodyCache.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(BeerBodyCache.acceptsGzip("deflate, *")).isTrue();
+        assertThat(BeerBodyCache.acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(BeerBodyCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(BeerBodyCache.acceptsGzip("identity")).isFalse();
+        assertThat(BeerBodyCache.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void leavesBinaryFormatsToTheConverters() {
+        BeerBodyCache cache = cache(1024);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThat(cache.serves(request)).isTrue();
+        request.addHeader("Accept", "application/cbor");
+        assertThat(cache.serves(request)).isFalse();
+    }
+}
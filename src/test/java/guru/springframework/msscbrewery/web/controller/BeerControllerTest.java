@@ -1,7 +1,9 @@
 package guru.springframework.msscbrewery.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.repositories.StaleVersionException;
 import guru.springframework.msscbrewery.services.BeerService;
+import guru.springframework.msscbrewery.services.BeerStamp;
 import guru.springframework.msscbrewery.web.model.BeerDto;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,19 +15,30 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 //@RunWith(SpringRunner.class)
 //@WebMvcTest(BeerController.class)
@@ -50,7 +63,7 @@ class BeerControllerTest {
     void setUp() {
         validBeer = BeerDto.builder()
                 .beerName("Beer1")
-                .beerStyle("PALE_ALE")
+                .beerStyle("ALE")
                 .upc(635472L)
                 .id(UUID.randomUUID())
                 .build();
@@ -70,6 +83,59 @@ class BeerControllerTest {
 
     }
 
+    @DisplayName("GET /beerById notModified on matching etag")
+    @Test
+    void getBeerNotModified() throws Exception {
+        given(service.getBeerStamp(validBeer.getId())).willReturn(Optional.of(new BeerStamp(3L, 1559347200000L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/beer/" + validBeer.getId().toString())
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""));
+
+        then(service).should(never()).getBeerById(any());
+    }
+
+    @DisplayName("POST /beer/lookup resolves ids and reports missing ones inline")
+    @Test
+    void lookupBeers() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        given(service.getBeersByIds(List.of(validBeer.getId(), missingId)))
+                .willReturn(Arrays.asList(validBeer, null));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/beer/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validBeer.getId(), missingId))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", is(validBeer.getId().toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", is(200)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].beer.beerName", is("Beer1")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id", is(missingId.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", is(404)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].beer").doesNotExist());
+    }
+
+    @DisplayName("GET /beer streams catalog as ndjson")
+    @Test
+    void exportBeers() throws Exception {
+        BeerDto otherBeer = BeerDto.builder().id(UUID.randomUUID()).beerName("Beer2").build();
+        given(service.listBeers()).willReturn(Stream.of(validBeer, otherBeer));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/beer")
+                        .accept(BatchIngester.NDJSON_VALUE))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(BatchIngester.NDJSON_VALUE))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "\"id\":\"" + validBeer.getId() + "\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "}\n{\"id\":\"" + otherBeer.getId() + "\"")));
+    }
+
     @DisplayName("POST /beer created")
     @Test
     void handlePost() throws Exception {
@@ -89,6 +155,20 @@ class BeerControllerTest {
         log.info(dtoJson);
     }
 
+    @DisplayName("POST /beer badRequest on unknown beer style")
+    @Test
+    void handlePostUnknownStyle() throws Exception {
+        validBeer.setId(null);
+        validBeer.setBeerStyle("Pale Ale");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/beer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBeer)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        then(service).should(never()).saveNewBeer(any());
+    }
+
     @DisplayName("POST2 /beer/full created")
     @Test
     void handlePost2() throws Exception {
@@ -111,6 +191,27 @@ class BeerControllerTest {
         log.info(dtoJson);
     }
 
+    @DisplayName("POST /beer replayed for a repeated Idempotency-Key")
+    @Test
+    void handlePostIdempotent() throws Exception {
+        validBeer.setId(null);
+        BeerDto savedDto = BeerDto.builder().id(UUID.randomUUID()).beerName("New Beer").build();
+        given(service.saveNewBeer(any())).willReturn(savedDto);
+        String key = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/beer")
+                            .header("Idempotency-Key", key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validBeer)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated())
+                    .andExpect(MockMvcResultMatchers.header().string("Location",
+                            "/api/v1/beer/" + savedDto.getId()));
+        }
+
+        then(service).should(times(1)).saveNewBeer(any());
+    }
+
     @DisplayName("POST3 /beer/form created")
     @Test
     void handleUrlEncodedPost() throws Exception {
@@ -152,6 +253,54 @@ class BeerControllerTest {
         log.info("dto: " + dto + "\njson: " + json);
     }
 
+    @DisplayName("POST /beer/batch per-item results")
+    @Test
+    void handleBatchPost() throws Exception {
+        //given
+        given(service.saveNewBeers(any())).willAnswer(invocation -> {
+            List<BeerDto> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(dto -> BeerDto.builder().id(UUID.randomUUID()).beerName(dto.getBeerName()).build())
+                    .collect(Collectors.toList());
+        });
+        BeerDto beerDto = validBeer;
+        beerDto.setId(null);
+        BeerDto invalidDto = BeerDto.builder().beerName(" ").beerStyle("ALE").build();
+        String ndjson = objectMapper.writeValueAsString(beerDto) + "\n"
+                + objectMapper.writeValueAsString(invalidDto) + "\n"
+                + objectMapper.writeValueAsString(beerDto) + "\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/beer/batch")
+                        .contentType(BatchIngester.NDJSON_VALUE)
+                        .content(ndjson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].index", is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", is(400)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", is(201)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].index", is(2)));
+
+        then(service).should().saveNewBeers(any());
+    }
+
+    @DisplayName("POST /beer/batch reports null items and closes the array when a chunk fails")
+    @Test
+    void handleBatchPostNullItemAndFailedChunk() throws Exception {
+        given(service.saveNewBeers(any())).willThrow(new IllegalStateException("store is full"));
+        validBeer.setId(null);
+        String json = "[null," + objectMapper.writeValueAsString(validBeer) + "]";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/beer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].index", is(0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", is(400)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].indexes[0]", is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", is(500)));
+    }
+
     @DisplayName("PUT /beerById noContent")
     @Test
     void handlePut() throws Exception {
@@ -168,6 +317,20 @@ class BeerControllerTest {
         then(service).should().updateBeer(any(), any());
     }
 
+    @DisplayName("PUT /beerById preconditionFailed on stale etag")
+    @Test
+    void handlePutStaleIfMatch() throws Exception {
+        UUID beerId = UUID.randomUUID();
+        validBeer.setId(null);
+        given(service.updateBeer(eq(beerId), any(), eq(2L))).willThrow(new StaleVersionException(beerId, 2L));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/beer/" + beerId)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBeer)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
     @DisplayName("DELETE /beerById noContent")
     @Test
     void deleteBeer() throws Exception {
@@ -1,8 +1,11 @@
 package guru.springframework.msscbrewery.web.controller.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.msscbrewery.repositories.BeerQuery;
 import guru.springframework.msscbrewery.services.V2.BeerServiceV2;
+import guru.springframework.msscbrewery.web.formats.BinaryFormats;
 import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerPageV2;
 import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
 import lombok.extern.slf4j.Slf4j;
 import org.hamcrest.Matchers;
@@ -29,12 +32,17 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -85,6 +93,76 @@ class BeerControllerV2Test {
 
     }
 
+    @DisplayName("GET /beerById as CBOR")
+    @Test
+    void getBeerCbor() throws Exception {
+        given(service.getBeerById(any(UUID.class))).willReturn(validBeer);
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/beer/" + validBeer.getId().toString())
+                        .accept(BinaryFormats.CBOR))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(BinaryFormats.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper cbor = BinaryFormats.cborMapper();
+        assertThat(cbor.readValue(body, BeerDtoV2.class)).isEqualTo(validBeer);
+        assertThat(cbor.readTree(body).get("id").isBinary()).isTrue();
+        assertThat(cbor.readTree(body).get("beerStyle").asInt()).isEqualTo(BeerStyleEnum.ALE.ordinal());
+    }
+
+    @DisplayName("POST /beer accepts Smile")
+    @Test
+    void handlePostSmile() throws Exception {
+        BeerDtoV2 beerDto = validBeer;
+        beerDto.setId(null);
+        given(service.saveNewBeer(any())).willReturn(BeerDtoV2.builder().id(UUID.randomUUID()).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v2/beer/")
+                        .contentType(BinaryFormats.SMILE)
+                        .content(BinaryFormats.smileMapper().writeValueAsBytes(beerDto)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        then(service).should().saveNewBeer(eq(beerDto));
+    }
+
+    @DisplayName("GET /beer lists a page with cursor")
+    @Test
+    void listBeers() throws Exception {
+        BeerQuery query = BeerQuery.builder().beerStyle(BeerStyleEnum.ALE).namePrefix("Be").build();
+        given(service.listBeers(eq(query), eq("abc"), eq(10)))
+                .willReturn(BeerPageV2.builder().content(List.of(validBeer)).nextCursor("def").build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/beer")
+                        .param("beerStyle", "ALE")
+                        .param("namePrefix", "Be")
+                        .param("cursor", "abc")
+                        .param("pageSize", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id", is(validBeer.getId().toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", is("def")));
+    }
+
+    @DisplayName("GET /beer rejects oversized pages")
+    @Test
+    void listBeersPageSizeTooLarge() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/beer")
+                        .param("pageSize", "1000"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @DisplayName("GET /beer rejects an inverted upc range")
+    @Test
+    void listBeersInvertedUpcRange() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/beer")
+                        .param("upcFrom", "9")
+                        .param("upcTo", "3"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        then(service).should(never()).listBeers(any(), any(), anyInt());
+    }
+
     @DisplayName("POST /beer created")
     @Test
     void handlePost() throws Exception {
@@ -104,6 +182,33 @@ class BeerControllerV2Test {
         log.info(dtoJson);
     }
 
+    @DisplayName("POST /beer/batch json array per-item results")
+    @Test
+    void handleBatchPost() throws Exception {
+        //given
+        given(service.saveNewBeers(any())).willAnswer(invocation -> {
+            List<BeerDtoV2> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(dto -> BeerDtoV2.builder().id(UUID.randomUUID()).beerName(dto.getBeerName()).build())
+                    .collect(Collectors.toList());
+        });
+        BeerDtoV2 beerDto = validBeer;
+        beerDto.setId(null);
+        BeerDtoV2 invalidDto = BeerDtoV2.builder().beerName("No Style").upc(1L).build();
+        String json = objectMapper.writeValueAsString(List.of(beerDto, invalidDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v2/beer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].index", is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].errors[0]", is("beerStyle : must not be null")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].index", is(0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].location",
+                        Matchers.startsWith("/api/v2/beer/")));
+    }
+
     @DisplayName("PUT /beerById noContent")
     @Test
     void handlePut() throws Exception {
@@ -243,6 +348,29 @@ class BeerControllerV2Test {
 
     }
 
+    @Test
+    void whenInvalidPostAcceptsProblem_thenStructuredErrorsAreReported() throws Exception {
+        BeerDtoV2 dto = BeerDtoV2.builder()
+                .beerName(" ")
+                .beerStyle(BeerStyleEnum.ALE)
+                .beerStyleStr(BeerStyleEnum.ALE.toString())
+                .upc(635472L)
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v2/beer/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_PROBLEM_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PROBLEM_JSON_UTF8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", is(400)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].field", is("beerName")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].constraint", is("NotBlank")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message", is("must not be blank")));
+        then(service).shouldHaveZeroInteractions();
+    }
+
     public static Predicate<ConstraintViolation<BeerDtoV2>> havingMessage(String message) {
         return l -> message.equals(l.getMessage());
     }
@@ -0,0 +1,59 @@
+package guru.springframework.msscbrewery.web.execution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.DispatcherType;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionInterceptorTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    AdmissionInterceptor interceptor;
+
+    AdmissionInterceptor interceptor(int maxConcurrency) {
+        ExecutionProperties properties = new ExecutionProperties();
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        return new AdmissionInterceptor(properties, meterRegistry);
+    }
+
+    @Test
+    void rejectsWith503OnceEveryPermitIsTaken() {
+        interceptor = interceptor(1);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(first, firstResponse, null)).isTrue();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), rejected, null)).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.get("brewery.execution.rejected").counter().count()).isEqualTo(1);
+
+        interceptor.afterCompletion(first, firstResponse, null, null);
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null))
+                .isTrue();
+    }
+
+    @Test
+    void asyncDispatchKeepsItsPermit() throws Exception {
+        interceptor = interceptor(1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(meterRegistry.get("brewery.execution.active").gauge().value()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(meterRegistry.get("brewery.execution.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package guru.springframework.msscbrewery.web.mappers;
+
+import guru.springframework.msscbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.BindException;
+
+import javax.validation.Validation;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeerFormMapperTest {
+
+    BeerFormMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new BeerFormMapper(Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void bindsFormFields() throws Exception {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("id", UUID.randomUUID().toString());
+        form.add("beerName", "tasty Beer");
+        form.add("beerStyle", "ALE");
+        form.add("upc", "56382");
+
+        BeerDto dto = mapper.formToBeerDto(form);
+
+        assertThat(dto.getId()).isNull();
+        assertThat(dto.getBeerName()).isEqualTo("tasty Beer");
+        assertThat(dto.getBeerStyle()).isEqualTo("ALE");
+        assertThat(dto.getUpc()).isEqualTo(56382L);
+    }
+
+    @Test
+    void collectsConversionAndValidationErrors() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("beerName", " ");
+        form.add("beerStyle", "ALE");
+        form.add("upc", "12ab");
+
+        BindException e = assertThrows(BindException.class, () -> mapper.formToBeerDto(form));
+
+        assertThat(e.getFieldError("upc").getCode()).isEqualTo("typeMismatch");
+        assertThat(e.getFieldError("upc").getRejectedValue()).isEqualTo("12ab");
+        assertThat(e.getFieldError("beerName").getCode()).isEqualTo("NotBlank");
+    }
+
+    @Test
+    void beerStyleIsOptionalButMustBeKnownWhenGiven() throws Exception {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("beerName", "tasty Beer");
+
+        assertThat(mapper.formToBeerDto(form).getBeerStyle()).isNull();
+
+        form.add("beerStyle", "Pale Ale");
+        BindException e = assertThrows(BindException.class, () -> mapper.formToBeerDto(form));
+        assertThat(e.getFieldError("beerStyle").getCode()).isEqualTo("ValueOfEnum");
+    }
+}
@@ -0,0 +1,47 @@
+package guru.springframework.msscbrewery.web.mappers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkMapperTest {
+
+    BulkMapper bulkMapper = new BulkMapper(100, 8, 4);
+
+    @AfterEach
+    void tearDown() {
+        bulkMapper.shutdown();
+    }
+
+    @Test
+    void mapsSmallListsInOrder() {
+        List<Integer> source = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        assertThat(bulkMapper.mapList(source, String::valueOf)).isEqualTo(expected(50));
+    }
+
+    @Test
+    void mapsLargeListsInParallelInOrder() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toCollection(ArrayList::new));
+
+        assertThat(bulkMapper.mapList(source, String::valueOf)).isEqualTo(expected(1000));
+    }
+
+    @Test
+    void mapsLargeSequentialAccessListsOnCallingThread() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toCollection(LinkedList::new));
+
+        assertThat(bulkMapper.mapList(source, String::valueOf)).isEqualTo(expected(1000));
+    }
+
+    private static List<String> expected(int size) {
+        return IntStream.range(0, size).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,41 @@
+package guru.springframework.msscbrewery.web.mappers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateMapperTest {
+
+    DateMapper dateMapper = new DateMapper();
+
+    @Test
+    void convertsEpochMillisToUtc() {
+        OffsetDateTime dateTime = dateMapper.asOffsetDateTime(1559347200123L);
+
+        assertThat(dateTime).isEqualTo(OffsetDateTime.of(2019, 6, 1, 0, 0, 0, 123_000_000, ZoneOffset.UTC));
+        assertThat(dateMapper.asEpochMillis(dateTime)).isEqualTo(1559347200123L);
+    }
+
+    @Test
+    void keepsInstantOfOtherOffsets() {
+        OffsetDateTime dateTime = OffsetDateTime.of(2019, 6, 1, 2, 0, 0, 0, ZoneOffset.ofHours(2));
+
+        assertThat(dateMapper.asEpochMillis(dateTime)).isEqualTo(1559347200000L);
+    }
+
+    @Test
+    void handlesMillisBeforeEpoch() {
+        assertThat(dateMapper.asEpochMillis(dateMapper.asOffsetDateTime(-1L))).isEqualTo(-1L);
+    }
+
+    @Test
+    void zeroIsUnset() {
+        assertThat(dateMapper.asOffsetDateTime(0)).isNull();
+        assertThat(dateMapper.asEpochMillis(null)).isZero();
+        assertThat(dateMapper.asOffsetDateTime(dateMapper.asEpochMillis(
+                OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)))).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package guru.springframework.msscbrewery.web.model.v2;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValueOfEnumValidatorTest {
+
+    @ValueOfEnum(enumClass = BeerStyleEnum.class)
+    String exact;
+
+    @ValueOfEnum(enumClass = BeerStyleEnum.class, ignoreCase = true)
+    String ignoreCase;
+
+    @Test
+    void acceptsConstantNames() throws Exception {
+        ValueOfEnumValidator validator = validator("exact");
+
+        for (BeerStyleEnum style : BeerStyleEnum.values()) {
+            assertThat(validator.isValid(style.name(), null)).isTrue();
+            assertThat(validator.isValid(new StringBuilder(style.name()), null)).isTrue();
+        }
+        assertThat(validator.isValid(null, null)).isTrue();
+    }
+
+    @Test
+    void rejectsOtherValues() throws Exception {
+        ValueOfEnumValidator validator = validator("exact");
+
+        assertThat(validator.isValid("ipa", null)).isFalse();
+        assertThat(validator.isValid("IPA ", null)).isFalse();
+        assertThat(validator.isValid("", null)).isFalse();
+        assertThat(validator.isValid("PALE_ALE", null)).isFalse();
+    }
+
+    @Test
+    void ignoresCaseWhenAsked() throws Exception {
+        ValueOfEnumValidator validator = validator("ignoreCase");
+
+        assertThat(validator.isValid("ipa", null)).isTrue();
+        assertThat(validator.isValid(new StringBuilder("Stout"), null)).isTrue();
+        assertThat(validator.isValid("stouts", null)).isFalse();
+    }
+
+    private ValueOfEnumValidator validator(String field) throws NoSuchFieldException {
+        ValueOfEnumValidator validator = new ValueOfEnumValidator();
+        validator.initialize(getClass().getDeclaredField(field).getAnnotation(ValueOfEnum.class));
+        return validator;
+    }
+}
@@ -0,0 +1,130 @@
+package guru.springframework.msscbrewery.web.reactive;
+
+import guru.springframework.msscbrewery.services.NotFoundException;
+import guru.springframework.msscbrewery.services.V2.ReactiveBeerServiceV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class BeerRoutesV2Test {
+
+    ReactiveBeerServiceV2 service;
+    WebTestClient client;
+    BeerDtoV2 validBeer;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(ReactiveBeerServiceV2.class);
+        BeerHandlerV2 handler = new BeerHandlerV2(service,
+                Validation.buildDefaultValidatorFactory().getValidator(), 500);
+        client = WebTestClient.bindToRouterFunction(BeerRoutesV2.routes(handler))
+                .handlerStrategies(ReactiveV2Config.strategies(Jackson2ObjectMapperBuilder.json().build()))
+                .build();
+        validBeer = BeerDtoV2.builder()
+                .beerName("Beer1")
+                .beerStyle(BeerStyleEnum.ALE)
+                .beerStyleStr(BeerStyleEnum.ALE.toString())
+                .upc(635472L)
+                .build();
+    }
+
+    @DisplayName("GET /beerById success")
+    @Test
+    void getBeer() {
+        UUID beerId = UUID.randomUUID();
+        validBeer.setId(beerId);
+        given(service.getBeerById(beerId)).willReturn(Mono.just(validBeer));
+
+        client.get().uri("/api/v2/beer/{beerId}", beerId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(beerId.toString())
+                .jsonPath("$.beerName").isEqualTo("Beer1");
+    }
+
+    @DisplayName("GET /beerById notFound")
+    @Test
+    void getBeerNotFound() {
+        UUID beerId = UUID.randomUUID();
+        given(service.getBeerById(beerId)).willReturn(Mono.error(new NotFoundException("Beer", beerId)));
+
+        client.get().uri("/api/v2/beer/{beerId}", beerId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @DisplayName("POST /beer created")
+    @Test
+    void createBeer() {
+        UUID beerId = UUID.randomUUID();
+        given(service.saveNewBeer(any())).willReturn(Mono.just(BeerDtoV2.builder().id(beerId).build()));
+
+        client.post().uri("/api/v2/beer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(validBeer)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/api/v2/beer/" + beerId);
+    }
+
+    @DisplayName("POST /beer validation errors")
+    @Test
+    void createBeerInvalid() {
+        validBeer.setBeerName(" ");
+
+        client.post().uri("/api/v2/beer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(validBeer)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0]").isEqualTo("NotBlank.beerDtoV2.beerName : must not be blank");
+    }
+
+    @DisplayName("GET /beer streams catalog")
+    @Test
+    void streamBeers() {
+        BeerDtoV2 otherBeer = BeerDtoV2.builder().id(UUID.randomUUID()).beerName("Beer2").build();
+        validBeer.setId(UUID.randomUUID());
+        given(service.listBeers()).willReturn(Flux.just(validBeer, otherBeer));
+
+        client.get().uri("/api/v2/beer")
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(containsString("\"id\":\"" + otherBeer.getId() + "\""));
+    }
+
+    @DisplayName("GET /beer pageSize too large")
+    @Test
+    void listBeersPageSizeTooLarge() {
+        client.get().uri("/api/v2/beer?pageSize=101")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("GET /beer inverted upc range")
+    @Test
+    void listBeersInvertedUpcRange() {
+        client.get().uri("/api/v2/beer?upcFrom=9&upcTo=3")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
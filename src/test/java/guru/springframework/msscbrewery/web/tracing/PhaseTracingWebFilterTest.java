@@ -0,0 +1,76 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import guru.springframework.msscbrewery.services.V2.ReactiveBeerServiceV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerDtoV2;
+import guru.springframework.msscbrewery.web.model.v2.BeerStyleEnum;
+import guru.springframework.msscbrewery.web.reactive.BeerHandlerV2;
+import guru.springframework.msscbrewery.web.reactive.BeerRoutesV2;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class PhaseTracingWebFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SlowRequestLog slowRequests = new SlowRequestLog(0, 10, 1.0);
+    ReactiveBeerServiceV2 service;
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(ReactiveBeerServiceV2.class);
+        BeerHandlerV2 handler = new BeerHandlerV2(service,
+                Validation.buildDefaultValidatorFactory().getValidator(), 500);
+        PhaseTracingWebFilter filter = new PhaseTracingWebFilter(new PhaseRecorder(slowRequests, meterRegistry));
+        client = WebTestClient.bindToRouterFunction(BeerRoutesV2.routes(handler).filter(filter))
+                .handlerStrategies(HandlerStrategies.builder().webFilter(filter).build())
+                .build();
+    }
+
+    @Test
+    void tracesReactiveRequests() {
+        UUID beerId = UUID.randomUUID();
+        given(service.getBeerById(beerId)).willReturn(Mono.just(BeerDtoV2.builder().id(beerId)
+                .beerName("Beer1").beerStyle(BeerStyleEnum.ALE).upc(635472L).build()));
+
+        client.get().uri("/api/v2/beer/{beerId}", beerId).exchange().expectStatus().isOk();
+
+        List<SlowRequest> requests = slowRequests.snapshot();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getMethod()).isEqualTo("GET");
+        assertThat(requests.get(0).getUri()).isEqualTo("/api/v2/beer/" + beerId);
+        assertThat(requests.get(0).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("brewery.request.phase").tag("phase", "service").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void reportsBodyPhasesOfValidatedRequests() {
+        given(service.saveNewBeer(any())).willReturn(Mono.just(BeerDtoV2.builder().id(UUID.randomUUID()).build()));
+
+        client.post().uri("/api/v2/beer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody("{\"beerName\":\"Beer1\",\"beerStyle\":\"ALE\",\"beerStyleStr\":\"ALE\",\"upc\":635472}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        List<SlowRequest> requests = slowRequests.snapshot();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getStatus()).isEqualTo(201);
+        assertThat(requests.get(0).getDeserializeNanos()).isPositive();
+        assertThat(requests.get(0).getValidateNanos()).isPositive();
+    }
+}
@@ -0,0 +1,49 @@
+package guru.springframework.msscbrewery.web.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowRequestLogTest {
+
+    SlowRequestLog log = new SlowRequestLog(1_000, 3, 1.0);
+
+    @Test
+    void acceptsOnlySlowRequests() {
+        assertThat(log.accepts(999)).isFalse();
+        assertThat(log.accepts(1_000)).isTrue();
+    }
+
+    @Test
+    void keepsNewestEntriesFirst() {
+        for (int i = 1; i <= 5; i++) {
+            log.add(request(i));
+        }
+
+        List<SlowRequest> requests = log.snapshot();
+
+        assertThat(requests).extracting(SlowRequest::getUri).containsExactly("/5", "/4", "/3");
+    }
+
+    @Test
+    void clearEmptiesTheLog() {
+        log.add(request(1));
+
+        log.clear();
+
+        assertThat(log.snapshot()).isEmpty();
+    }
+
+    @Test
+    void samplingCanDropEverything() {
+        SlowRequestLog unsampled = new SlowRequestLog(0, 3, 0.0);
+
+        assertThat(unsampled.accepts(1_000_000)).isFalse();
+    }
+
+    private static SlowRequest request(int i) {
+        return new SlowRequest(i, "GET", "/" + i, 200, 2_000, 100, 100, 1_500, 300);
+    }
+}